@@ -0,0 +1,17 @@
+#!/bin/sh
+# Compila a aplicacao e o modulo de benchmarks e roda o JMH com o profiler de GC (alocacao por operacao). O resultado
+# em JSON fica em benchmarks/results/<data>-<commit>.json para comparar antes/depois de cada mudanca.
+#
+# Uso: benchmarks/run.sh [argumentos do JMH]   ex.: benchmarks/run.sh JsonSerializationBenchmark -p pageSize=50
+set -e
+
+ROOT=$(cd "$(dirname "$0")/.." && pwd)
+COMMIT=$(git -C "$ROOT" rev-parse --short HEAD)
+DIRTY=$(git -C "$ROOT" diff --quiet HEAD -- src || echo "-dirty")
+RESULT="$ROOT/benchmarks/results/$(date +%Y%m%d-%H%M%S)-$COMMIT$DIRTY.json"
+
+(cd "$ROOT" && ./mvnw -q -B install -DskipTests)
+(cd "$ROOT/benchmarks" && ../mvnw -q -B package)
+
+java -jar "$ROOT/benchmarks/target/benchmarks.jar" -prof gc -rf json -rff "$RESULT" "$@"
+echo "Results written to $RESULT"
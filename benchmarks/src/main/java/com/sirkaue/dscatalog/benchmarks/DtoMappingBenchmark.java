@@ -0,0 +1,67 @@
+package com.sirkaue.dscatalog.benchmarks;
+
+import com.sirkaue.dscatalog.dto.CategoryDto;
+import com.sirkaue.dscatalog.dto.ProductDto;
+import com.sirkaue.dscatalog.dto.UserDto;
+import com.sirkaue.dscatalog.entities.Category;
+import com.sirkaue.dscatalog.entities.Product;
+import com.sirkaue.dscatalog.entities.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/*
+Custo de montar os DTOs a partir das entidades, como acontece em toda resposta das listagens.
+*/
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class DtoMappingBenchmark {
+
+    @Param({"1", "3", "10"})
+    private int categories;
+
+    private Product product;
+    private Category category;
+    private User user;
+
+    @Setup
+    public void setUp() {
+        product = Fixtures.product(1L, categories);
+        category = Fixtures.category(1L);
+        user = Fixtures.user(1L, 2);
+    }
+
+    @Benchmark
+    public ProductDto productDtoWithCategories() {
+        return new ProductDto(product, product.getCategories());
+    }
+
+    @Benchmark
+    public ProductDto productDtoWithoutCategories() {
+        return new ProductDto(product);
+    }
+
+    @Benchmark
+    public CategoryDto categoryDto() {
+        return new CategoryDto(category);
+    }
+
+    @Benchmark
+    public UserDto userDto() {
+        return new UserDto(user);
+    }
+}
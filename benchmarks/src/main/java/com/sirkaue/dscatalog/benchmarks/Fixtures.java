@@ -0,0 +1,42 @@
+package com.sirkaue.dscatalog.benchmarks;
+
+import com.sirkaue.dscatalog.entities.Category;
+import com.sirkaue.dscatalog.entities.Product;
+import com.sirkaue.dscatalog.entities.Role;
+import com.sirkaue.dscatalog.entities.User;
+
+import java.time.Instant;
+
+/*
+Dados com tamanhos parecidos com os do catalogo real: descricoes de algumas centenas de caracteres, URLs de imagem
+completas e poucas categorias por produto.
+*/
+class Fixtures {
+
+    static final String DESCRIPTION = "Lorem ipsum dolor sit amet, consectetur adipiscing elit, sed do eiusmod " +
+            "tempor incididunt ut labore et dolore magna aliqua. Ut enim ad minim veniam, quis nostrud exercitation " +
+            "ullamco laboris nisi ut aliquip ex ea commodo consequat. Duis aute irure dolor in reprehenderit in " +
+            "voluptate velit esse cillum dolore eu fugiat nulla pariatur.";
+
+    static Product product(long id, int categories) {
+        Product product = new Product(id, "Product " + id, DESCRIPTION, 100.0 + id,
+                "https://raw.githubusercontent.com/devsuperior/dscatalog-resources/master/backend/img/" + id + "-big.jpg",
+                Instant.parse("2020-07-13T20:50:07.12345Z"));
+        for (int i = 1; i <= categories; i++) {
+            product.getCategories().add(category(i));
+        }
+        return product;
+    }
+
+    static Category category(long id) {
+        return new Category(id, "Category " + id);
+    }
+
+    static User user(long id, int roles) {
+        User user = new User(id, "First" + id, "Last" + id, "user" + id + "@gmail.com", "$2a$10$hash");
+        for (int i = 1; i <= roles; i++) {
+            user.getRoles().add(new Role((long) i, "ROLE_" + i));
+        }
+        return user;
+    }
+}
@@ -0,0 +1,66 @@
+package com.sirkaue.dscatalog.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sirkaue.dscatalog.dto.ProductDto;
+import com.sirkaue.dscatalog.entities.Product;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/*
+Serializacao de Page<ProductDto> com um ObjectMapper configurado como o do Spring Boot (datas ISO-8601, modulos
+registrados automaticamente), nos tamanhos de pagina usados pelo front e pelas integracoes.
+*/
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class JsonSerializationBenchmark {
+
+    @Param({"12", "50", "100"})
+    private int pageSize;
+
+    private ObjectMapper objectMapper;
+    private Page<ProductDto> page;
+    private ProductDto product;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        List<ProductDto> content = new ArrayList<>(pageSize);
+        for (long id = 1; id <= pageSize; id++) {
+            Product entity = Fixtures.product(id, 3);
+            content.add(new ProductDto(entity, entity.getCategories()));
+        }
+        page = new PageImpl<>(content, PageRequest.of(0, pageSize), 10_000);
+        product = content.get(0);
+    }
+
+    @Benchmark
+    public byte[] serializePage() throws Exception {
+        return objectMapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] serializeProduct() throws Exception {
+        return objectMapper.writeValueAsBytes(product);
+    }
+}
@@ -1,14 +1,30 @@
 package com.sirkaue.dscatalog.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
 
 @Configuration
 public class AppConfig {
 
-    @Bean
-    public BCryptPasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    /*
+    O custo do BCrypt (dscatalog.password.bcrypt-strength, medido em benchmarks/PasswordHashingBenchmark) pode ser
+    aumentado a qualquer momento: hashes com custo menor continuam validos e sao refeitos no proximo login
+    (UserServiceImpl.updatePassword). Pool com tamanho 0 usa o numero de processadores.
+    */
+    @Bean(destroyMethod = "shutdown")
+    public PasswordEncoder passwordEncoder(@Value("${dscatalog.password.bcrypt-strength:10}") int strength,
+                                           @Value("${dscatalog.password.pool-size:0}") int poolSize,
+                                           @Value("${dscatalog.password.queue-capacity:64}") int queueCapacity,
+                                           @Value("${dscatalog.password.timeout:2s}") Duration timeout,
+                                           MeterRegistry meterRegistry) {
+        int threads = poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(strength), threads, queueCapacity, timeout,
+                meterRegistry);
     }
 }
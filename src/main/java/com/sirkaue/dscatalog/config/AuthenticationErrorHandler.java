@@ -0,0 +1,77 @@
+package com.sirkaue.dscatalog.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sirkaue.dscatalog.resources.exceptions.StandardError;
+import com.sirkaue.dscatalog.services.exceptions.ServiceUnavailableException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.web.AuthenticationEntryPoint;
+import org.springframework.security.web.authentication.AuthenticationFailureHandler;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.Instant;
+
+/*
+Falhas de autenticacao causadas pelo pool de senhas cheio (ServiceUnavailableException em qualquer nivel da causa)
+respondem 503 com Retry-After, como o ResourceExceptionHandler faz fora da autenticacao; o cliente deve tentar de
+novo, e nao pedir outras credenciais. As demais respondem 401.
+*/
+@Component
+public class AuthenticationErrorHandler implements AuthenticationEntryPoint, AuthenticationFailureHandler {
+
+    private final ObjectMapper objectMapper;
+
+    public AuthenticationErrorHandler(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void commence(HttpServletRequest request, HttpServletResponse response,
+                         AuthenticationException authException) throws IOException {
+        handle(request, response, authException);
+    }
+
+    @Override
+    public void onAuthenticationFailure(HttpServletRequest request, HttpServletResponse response,
+                                        AuthenticationException exception) throws IOException {
+        handle(request, response, exception);
+    }
+
+    private void handle(HttpServletRequest request, HttpServletResponse response,
+                        AuthenticationException exception) throws IOException {
+        ServiceUnavailableException overload = overload(exception);
+        if (overload == null) {
+            response.sendError(HttpStatus.UNAUTHORIZED.value(), HttpStatus.UNAUTHORIZED.getReasonPhrase());
+            return;
+        }
+
+        HttpStatus status = HttpStatus.SERVICE_UNAVAILABLE;
+
+        StandardError error = new StandardError();
+
+        error.setTimestamp(Instant.now());
+        error.setStatus(status.value());
+        error.setError("Service unavailable");
+        error.setMessage(overload.getMessage());
+        error.setPath(request.getRequestURI());
+
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), error);
+    }
+
+    private static ServiceUnavailableException overload(Throwable exception) {
+        for (Throwable cause = exception; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ServiceUnavailableException serviceUnavailable) {
+                return serviceUnavailable;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,106 @@
+package com.sirkaue.dscatalog.config;
+
+import com.sirkaue.dscatalog.services.exceptions.ServiceUnavailableException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/*
+Executa o hash e a verificacao de senhas (BCrypt, limitado por CPU) em um pool proprio, do tamanho do numero de
+nucleos e com fila limitada, para que uma rajada de cadastros ou logins nao tire a CPU das leituras do catalogo. O
+pool limita a CPU, nao as threads do Tomcat: quem chama continua bloqueado esperando o resultado, no maximo pelo
+timeout. Com a fila cheia, ou se a espera passar do timeout, a chamada falha com ServiceUnavailableException (503)
+em vez de acumular requisicoes; cancelar a espera nao interrompe um hash ja em andamento, que ocupa a sua thread do
+pool ate terminar. Na autenticacao o 503 vem do PasswordAuthenticationProvider e do AuthenticationErrorHandler.
+Fila, threads ativas e tempos de espera e de execucao aparecem em executor.* com name=dscatalog.password; as recusas
+em dscatalog.password.rejected.
+*/
+public class BoundedPasswordEncoder implements PasswordEncoder {
+
+    private static final String NAME = "dscatalog.password";
+
+    private final PasswordEncoder delegate;
+    private final ExecutorService executor;
+    private final Duration timeout;
+    private final MeterRegistry meterRegistry;
+
+    public BoundedPasswordEncoder(PasswordEncoder delegate, int poolSize, int queueCapacity, Duration timeout,
+                                  MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.timeout = timeout;
+        this.meterRegistry = meterRegistry;
+
+        AtomicInteger threads = new AtomicInteger();
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(poolSize, poolSize, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), r -> {
+                    Thread thread = new Thread(r, "password-" + threads.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        pool.allowCoreThreadTimeOut(true);
+        this.executor = ExecutorServiceMetrics.monitor(meterRegistry, pool, NAME);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return submit(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return submit(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    /*
+    So compara o custo gravado no hash com o configurado, sem calcular hash; roda na thread de quem chamou.
+    */
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private <T> T submit(Supplier<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task::get);
+        } catch (RejectedExecutionException e) {
+            throw rejected("queue-full");
+        }
+        try {
+            return future.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw rejected("timeout");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw rejected("interrupted");
+        }
+    }
+
+    private ServiceUnavailableException rejected(String reason) {
+        meterRegistry.counter(NAME + ".rejected", "reason", reason).increment();
+        return new ServiceUnavailableException("Password hashing is overloaded, try again later");
+    }
+}
@@ -0,0 +1,75 @@
+package com.sirkaue.dscatalog.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+Com replicas configuradas (dscatalog.datasource.replicas[n].url/username/password), as transacoes
+@Transactional(readOnly = true) leem das replicas e o resto vai para o primario (spring.datasource.*). O
+LazyConnectionDataSourceProxy so pega a conexao fisica no primeiro comando, quando a transacao ja marcou a conexao
+como somente leitura, e entao escolhe entre primario e ReplicaDataSource. Todos os pools usam as mesmas
+configuracoes spring.datasource.hikari.*. Sem replicas, o DataSource padrao do Spring Boot continua valendo.
+
+Uma replica atrasada devolveria aos caches o que uma escrita acabou de invalidar. Por isso as cargas das caches da
+aplicacao leem do primario (SerializedResponseCache, UserDetailsCache e o COUNT em segundo plano do CountCache); o cache de segundo nivel do Hibernate e preenchido por qualquer leitura, e
+nele o atraso fica limitado pela expiracao das regioes (application.conf).
+*/
+@Configuration
+@ConditionalOnProperty(prefix = "dscatalog.datasource.replicas[0]", name = "url")
+public class DataSourceConfig {
+
+    private final List<HikariDataSource> pools = new ArrayList<>();
+
+    @Bean
+    public DataSource dataSource(DataSourceProperties properties, Environment environment,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${dscatalog.datasource.replica-eject-duration:30s}") Duration ejectDuration) {
+        Binder binder = Binder.get(environment);
+        HikariDataSource primary = pool(properties, binder, "primary", meterRegistry);
+
+        List<DataSourceProperties> replicaProperties = binder
+                .bind("dscatalog.datasource.replicas", Bindable.listOf(DataSourceProperties.class))
+                .orElse(List.of());
+        List<DataSource> replicas = new ArrayList<>();
+        for (int i = 0; i < replicaProperties.size(); i++) {
+            HikariDataSource replica = pool(replicaProperties.get(i), binder, "replica-" + (i + 1), meterRegistry);
+            replica.setReadOnly(true);
+            replicas.add(replica);
+        }
+
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primary);
+        dataSource.setReadOnlyDataSource(new ReplicaDataSource(primary, replicas, ejectDuration));
+        return dataSource;
+    }
+
+    @PreDestroy
+    public void close() {
+        pools.forEach(HikariDataSource::close);
+    }
+
+    private HikariDataSource pool(DataSourceProperties properties, Binder binder, String name,
+                                  MeterRegistry meterRegistry) {
+        HikariDataSource pool = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        binder.bind("spring.datasource.hikari", Bindable.ofInstance(pool));
+        pool.setPoolName(name);
+        pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+        pools.add(pool);
+        return pool;
+    }
+}
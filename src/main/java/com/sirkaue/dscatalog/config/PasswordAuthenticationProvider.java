@@ -0,0 +1,35 @@
+package com.sirkaue.dscatalog.config;
+
+import com.sirkaue.dscatalog.services.exceptions.ServiceUnavailableException;
+import org.springframework.security.authentication.InternalAuthenticationServiceException;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/*
+DaoAuthenticationProvider que nao deixa a ServiceUnavailableException do BoundedPasswordEncoder escapar como uma
+excecao qualquer (ela sairia do filtro de autenticacao como erro 500): vira uma InternalAuthenticationServiceException
+com a causa preservada, que o AuthenticationErrorHandler responde com 503.
+*/
+public class PasswordAuthenticationProvider extends DaoAuthenticationProvider {
+
+    public PasswordAuthenticationProvider(UserDetailsService userDetailsService,
+                                          UserDetailsPasswordService userDetailsPasswordService,
+                                          PasswordEncoder passwordEncoder) {
+        super(passwordEncoder);
+        setUserDetailsService(userDetailsService);
+        setUserDetailsPasswordService(userDetailsPasswordService);
+    }
+
+    @Override
+    public Authentication authenticate(Authentication authentication) throws AuthenticationException {
+        try {
+            return super.authenticate(authentication);
+        } catch (ServiceUnavailableException e) {
+            throw new InternalAuthenticationServiceException(e.getMessage(), e);
+        }
+    }
+}
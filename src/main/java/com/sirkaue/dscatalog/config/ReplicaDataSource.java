@@ -0,0 +1,109 @@
+package com.sirkaue.dscatalog.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/*
+DataSource das transacoes somente leitura (readOnlyDataSource do LazyConnectionDataSourceProxy). Distribui as
+conexoes entre as replicas em round-robin; uma replica que falha ao entregar conexao fica fora da rotacao durante
+o tempo de ejecao e depois volta a ser tentada. Sem replica disponivel, ou com a thread fixada no primario (janela
+de read-your-writes depois de uma escrita do cliente, ou dentro de onPrimary), a conexao vem do primario.
+*/
+public class ReplicaDataSource extends AbstractDataSource {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaDataSource.class);
+
+    private static final ThreadLocal<Boolean> PINNED_TO_PRIMARY = new ThreadLocal<>();
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final Duration ejectDuration;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaDataSource(DataSource primary, List<DataSource> replicas, Duration ejectDuration) {
+        this.primary = primary;
+        this.replicas = replicas.stream().map(Replica::new).toList();
+        this.ejectDuration = ejectDuration;
+    }
+
+    public static void pinToPrimary() {
+        PINNED_TO_PRIMARY.set(Boolean.TRUE);
+    }
+
+    public static void unpin() {
+        PINNED_TO_PRIMARY.remove();
+    }
+
+    public static boolean isPinnedToPrimary() {
+        return Boolean.TRUE.equals(PINNED_TO_PRIMARY.get());
+    }
+
+    /*
+    Para quem guarda o resultado em cache: um valor lido de uma replica atrasada logo depois de uma invalidacao
+    voltaria para o cache e ficaria la ate expirar. So vale para conexoes pegas dentro do loader; uma transacao que ja
+    tem uma conexao de replica continua nela.
+    */
+    public static <T> T onPrimary(Supplier<T> loader) {
+        if (isPinnedToPrimary()) {
+            return loader.get();
+        }
+        pinToPrimary();
+        try {
+            return loader.get();
+        } finally {
+            unpin();
+        }
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (!isPinnedToPrimary() && !replicas.isEmpty()) {
+            int start = Math.floorMod(next.getAndIncrement(), replicas.size());
+            for (int i = 0; i < replicas.size(); i++) {
+                int index = (start + i) % replicas.size();
+                Replica replica = replicas.get(index);
+                long now = System.nanoTime();
+                if (replica.isEjected(now)) {
+                    continue;
+                }
+                try {
+                    return replica.dataSource.getConnection();
+                } catch (SQLException e) {
+                    replica.ejectedUntil = now + ejectDuration.toNanos();
+                    logger.warn("Replica {} ejected for {} s: {}", index + 1, ejectDuration.toSeconds(),
+                            e.getMessage());
+                }
+            }
+        }
+        return primary.getConnection();
+    }
+
+    /* Cada pool tem as proprias credenciais; um pedido com credenciais explicitas fica com o primario. */
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return primary.getConnection(username, password);
+    }
+
+    private static class Replica {
+
+        private final DataSource dataSource;
+        private volatile long ejectedUntil;
+
+        private Replica(DataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+
+        private boolean isEjected(long now) {
+            return ejectedUntil != 0 && now - ejectedUntil < 0;
+        }
+    }
+}
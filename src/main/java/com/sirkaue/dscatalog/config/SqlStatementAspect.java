@@ -0,0 +1,39 @@
+package com.sirkaue.dscatalog.config;
+
+import com.sirkaue.dscatalog.util.SqlStatementCounter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+/*
+Registra quantos comandos SQL cada metodo dos servicos executou (dscatalog.service.sql.statements, tags class e
+method), complementando o timer dscatalog.service.
+*/
+@Aspect
+@Component
+public class SqlStatementAspect {
+
+    private final MeterRegistry meterRegistry;
+
+    public SqlStatementAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Around("within(com.sirkaue.dscatalog.services.impl..*) && execution(public * *(..))")
+    public Object count(ProceedingJoinPoint joinPoint) throws Throwable {
+        try (SqlStatementCounter.Scope scope = SqlStatementCounter.open()) {
+            try {
+                return joinPoint.proceed();
+            } finally {
+                DistributionSummary.builder("dscatalog.service.sql.statements")
+                        .tag("class", joinPoint.getSignature().getDeclaringTypeName())
+                        .tag("method", joinPoint.getSignature().getName())
+                        .register(meterRegistry)
+                        .record(scope.getCount());
+            }
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.sirkaue.dscatalog.config;
+
+import com.sirkaue.dscatalog.util.SqlStatementCounter;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/*
+Envolve o DataSource com o datasource-proxy para que todo comando executado (Hibernate, Spring Data, JdbcTemplate)
+passe pelo SqlStatementCounter. Um lote JDBC conta como um comando, ja que e uma unica ida ao banco.
+*/
+@Configuration
+public class SqlStatementConfig {
+
+    @Bean
+    public static BeanPostProcessor sqlStatementCounterPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof ProxyDataSource) {
+                    return bean;
+                }
+                return ProxyDataSourceBuilder.create(dataSource)
+                        .name(beanName)
+                        .afterQuery((execution, queries) ->
+                                queries.forEach(query -> SqlStatementCounter.record(query.getQuery())))
+                        .build();
+            }
+        };
+    }
+}
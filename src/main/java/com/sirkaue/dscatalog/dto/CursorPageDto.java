@@ -0,0 +1,37 @@
+package com.sirkaue.dscatalog.dto;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+public class CursorPageDto<T> implements Serializable {
+
+    private List<T> content = new ArrayList<>();
+    private int size;
+    private String next;
+
+    public CursorPageDto() {
+    }
+
+    public CursorPageDto(List<T> content, int size, String next) {
+        this.content = content;
+        this.size = size;
+        this.next = next;
+    }
+
+    public List<T> getContent() {
+        return content;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public String getNext() {
+        return next;
+    }
+
+    public boolean isHasNext() {
+        return next != null;
+    }
+}
@@ -0,0 +1,85 @@
+package com.sirkaue.dscatalog.dto;
+
+import com.sirkaue.dscatalog.entities.ImportJob;
+import com.sirkaue.dscatalog.entities.ImportJobError;
+import com.sirkaue.dscatalog.entities.ImportStatus;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+public class ImportJobDto implements Serializable {
+
+    private Long id;
+    private String format;
+    private ImportStatus status;
+    private long processedRows;
+    private long importedRows;
+    private long rejectedRows;
+    private String message;
+    private Instant createdAt;
+    private Instant updatedAt;
+
+    private List<ImportJobErrorDto> errors = new ArrayList<>();
+
+    public ImportJobDto() {
+    }
+
+    public ImportJobDto(ImportJob entity) {
+        this.id = entity.getId();
+        this.format = entity.getFormat();
+        this.status = entity.getStatus();
+        this.processedRows = entity.getProcessedRows();
+        this.importedRows = entity.getImportedRows();
+        this.rejectedRows = entity.getRejectedRows();
+        this.message = entity.getMessage();
+        this.createdAt = entity.getCreatedAt();
+        this.updatedAt = entity.getUpdatedAt();
+    }
+
+    public ImportJobDto(ImportJob entity, List<ImportJobError> errors) {
+        this(entity);
+        errors.forEach(e -> this.errors.add(new ImportJobErrorDto(e.getRowNumber(), e.getMessage())));
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getFormat() {
+        return format;
+    }
+
+    public ImportStatus getStatus() {
+        return status;
+    }
+
+    public long getProcessedRows() {
+        return processedRows;
+    }
+
+    public long getImportedRows() {
+        return importedRows;
+    }
+
+    public long getRejectedRows() {
+        return rejectedRows;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public List<ImportJobErrorDto> getErrors() {
+        return errors;
+    }
+}
@@ -0,0 +1,25 @@
+package com.sirkaue.dscatalog.dto;
+
+import java.io.Serializable;
+
+public class ImportJobErrorDto implements Serializable {
+
+    private Long rowNumber;
+    private String message;
+
+    public ImportJobErrorDto() {
+    }
+
+    public ImportJobErrorDto(Long rowNumber, String message) {
+        this.rowNumber = rowNumber;
+        this.message = message;
+    }
+
+    public Long getRowNumber() {
+        return rowNumber;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+}
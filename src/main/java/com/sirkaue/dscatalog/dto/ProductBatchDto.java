@@ -0,0 +1,32 @@
+package com.sirkaue.dscatalog.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+public class ProductBatchDto implements Serializable {
+
+    @Valid
+    @NotEmpty(message = "Informe ao menos um produto")
+    @Size(max = 1000, message = "Envie no máximo 1000 produtos por lote")
+    private List<ProductDto> products = new ArrayList<>();
+
+    public ProductBatchDto() {
+    }
+
+    public ProductBatchDto(List<ProductDto> products) {
+        this.products = products;
+    }
+
+    public List<ProductDto> getProducts() {
+        return products;
+    }
+
+    public void setProducts(List<ProductDto> products) {
+        this.products = products;
+    }
+}
@@ -0,0 +1,48 @@
+package com.sirkaue.dscatalog.dto;
+
+import java.io.Serializable;
+
+public class ProductBatchItemDto implements Serializable {
+
+    public static final String CREATED = "CREATED";
+    public static final String REJECTED = "REJECTED";
+
+    private Integer index;
+    private Long id;
+    private String status;
+    private String message;
+
+    public ProductBatchItemDto() {
+    }
+
+    public ProductBatchItemDto(Integer index, Long id, String status, String message) {
+        this.index = index;
+        this.id = id;
+        this.status = status;
+        this.message = message;
+    }
+
+    public static ProductBatchItemDto created(Integer index, Long id) {
+        return new ProductBatchItemDto(index, id, CREATED, null);
+    }
+
+    public static ProductBatchItemDto rejected(Integer index, String message) {
+        return new ProductBatchItemDto(index, null, REJECTED, message);
+    }
+
+    public Integer getIndex() {
+        return index;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+}
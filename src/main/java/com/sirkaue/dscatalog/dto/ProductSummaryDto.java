@@ -0,0 +1,70 @@
+package com.sirkaue.dscatalog.dto;
+
+import com.sirkaue.dscatalog.projections.ProductSummaryProjection;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+public class ProductSummaryDto implements Serializable {
+
+    private Long id;
+    private String name;
+    private Double price;
+    private String imgUrl;
+
+    private List<CategoryDto> categories = new ArrayList<>();
+
+    public ProductSummaryDto() {
+    }
+
+    public ProductSummaryDto(Long id, String name, Double price, String imgUrl) {
+        this.id = id;
+        this.name = name;
+        this.price = price;
+        this.imgUrl = imgUrl;
+    }
+
+    public ProductSummaryDto(ProductSummaryProjection projection) {
+        this.id = projection.getId();
+        this.name = projection.getName();
+        this.price = projection.getPrice();
+        this.imgUrl = projection.getImgUrl();
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public Double getPrice() {
+        return price;
+    }
+
+    public void setPrice(Double price) {
+        this.price = price;
+    }
+
+    public String getImgUrl() {
+        return imgUrl;
+    }
+
+    public void setImgUrl(String imgUrl) {
+        this.imgUrl = imgUrl;
+    }
+
+    public List<CategoryDto> getCategories() {
+        return categories;
+    }
+}
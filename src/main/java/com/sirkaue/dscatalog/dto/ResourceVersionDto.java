@@ -0,0 +1,94 @@
+package com.sirkaue.dscatalog.dto;
+
+import com.sirkaue.dscatalog.projections.ResourceVersionProjection;
+import org.springframework.data.domain.Slice;
+import org.springframework.util.DigestUtils;
+
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+
+/*
+ETag e Last-Modified de um recurso ou de uma pagina, calculados a partir de id, versao e data de alteracao, sem
+materializar os DTOs. Usado pelos resources com WebRequest.checkNotModified para responder 304.
+*/
+public class ResourceVersionDto implements Serializable {
+
+    private String etag;
+    private Instant lastModified;
+
+    public ResourceVersionDto() {
+    }
+
+    public ResourceVersionDto(String etag, Instant lastModified) {
+        this.etag = etag;
+        this.lastModified = lastModified;
+    }
+
+    public ResourceVersionDto(ResourceVersionProjection projection) {
+        this(projection.getId(), projection.getVersion(), projection.getLastModified());
+    }
+
+    /*
+    Mesmo ETag da projecao, calculado a partir da entidade ja carregada.
+    */
+    public ResourceVersionDto(Long id, Long version, Instant lastModified) {
+        this.etag = tag(id, version, lastModified);
+        this.lastModified = lastModified;
+    }
+
+    /*
+    O ETag de uma pagina e o hash dos ids e versoes dos itens, do indicador de proxima pagina e do total (quando a
+    resposta tem contagem). Alteracoes em recursos relacionados que aparecem no corpo (ex.: nomes de categoria na
+    listagem de produtos) entram pelo dependencyLastModified.
+    */
+    public static ResourceVersionDto of(Slice<ResourceVersionProjection> slice, Long total,
+                                        Instant dependencyLastModified) {
+        List<ResourceVersionDto> items = slice.map(ResourceVersionDto::new).getContent();
+        return of(items, slice.hasNext(), total, dependencyLastModified);
+    }
+
+    /*
+    Mesmo ETag de pagina, a partir das versoes dos itens ja carregados.
+    */
+    public static ResourceVersionDto of(List<ResourceVersionDto> items, boolean hasNext, Long total,
+                                        Instant dependencyLastModified) {
+        StringBuilder fingerprint = new StringBuilder();
+        Instant lastModified = dependencyLastModified;
+        for (ResourceVersionDto item : items) {
+            fingerprint.append(item.getEtag()).append(';');
+            lastModified = max(lastModified, item.getLastModified());
+        }
+        fingerprint.append(hasNext).append(';').append(total).append(';');
+        if (dependencyLastModified != null) {
+            fingerprint.append(dependencyLastModified.toEpochMilli());
+        }
+        String etag = DigestUtils.md5DigestAsHex(fingerprint.toString().getBytes(StandardCharsets.UTF_8));
+        return new ResourceVersionDto(etag, lastModified);
+    }
+
+    public String getEtag() {
+        return etag;
+    }
+
+    public Instant getLastModified() {
+        return lastModified;
+    }
+
+    public long getLastModifiedMillis() {
+        return lastModified == null ? -1 : lastModified.toEpochMilli();
+    }
+
+    private static String tag(Long id, Long version, Instant lastModified) {
+        return id + "-" + (version == null ? "" : version) + "-" +
+                (lastModified == null ? "" : lastModified.toEpochMilli());
+    }
+
+    private static Instant max(Instant a, Instant b) {
+        if (a == null) {
+            return b;
+        }
+        return b == null || a.isAfter(b) ? a : b;
+    }
+}
@@ -0,0 +1,26 @@
+package com.sirkaue.dscatalog.dto;
+
+import java.io.Serializable;
+
+/*
+Corpo de uma resposta junto com a versao (ETag/Last-Modified) lida na mesma consulta ou transacao, para que os
+bytes guardados no SerializedResponseCache fiquem sempre associados a versao que realmente os gerou.
+*/
+public class VersionedDto<T> implements Serializable {
+
+    private final T body;
+    private final ResourceVersionDto version;
+
+    public VersionedDto(T body, ResourceVersionDto version) {
+        this.body = body;
+        this.version = version;
+    }
+
+    public T getBody() {
+        return body;
+    }
+
+    public ResourceVersionDto getVersion() {
+        return version;
+    }
+}
@@ -1,6 +1,8 @@
 package com.sirkaue.dscatalog.entities;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.io.Serializable;
 import java.time.Instant;
@@ -8,8 +10,14 @@ import java.util.HashSet;
 import java.util.Objects;
 import java.util.Set;
 
+/*
+Categorias e perfis quase nunca mudam e sao lidos em toda montagem de produto e usuario, entao ficam no cache de
+segundo nivel do Hibernate (JCache/Caffeine, regioes em application.conf), junto com as colecoes Product.categories
+e User.roles. READ_WRITE mantem o cache consistente com as poucas escritas que passam pelo Hibernate.
+*/
 @Entity
 @Table(name = "tb_category")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "category")
 public class Category implements Serializable {
 
     @Id
@@ -0,0 +1,142 @@
+package com.sirkaue.dscatalog.entities;
+
+import jakarta.persistence.*;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+@Entity
+@Table(name = "tb_import_job")
+public class ImportJob implements Serializable {
+
+    /*
+    Limite de erros guardados por job. Os demais sao apenas contados em rejectedRows, para que um arquivo todo
+    invalido nao gere milhoes de linhas de relatorio.
+    */
+    public static final int MAX_ERRORS = 1000;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private String format;
+
+    @Enumerated(EnumType.STRING)
+    private ImportStatus status;
+
+    /*
+    Checkpoint: quantidade de registros do arquivo ja processados (importados ou rejeitados) em chunks que
+    sofreram commit. Uma retomada pula exatamente esse numero de registros.
+    */
+    private long processedRows;
+    private long importedRows;
+    private long rejectedRows;
+
+    @Column(columnDefinition = "TEXT")
+    private String message;
+
+    @ElementCollection
+    @CollectionTable(name = "tb_import_job_error", joinColumns = @JoinColumn(name = "job_id"))
+    @OrderColumn(name = "position")
+    private List<ImportJobError> errors = new ArrayList<>();
+
+    @Column(columnDefinition = "TIMESTAMP WITHOUT TIME ZONE")
+    private Instant createdAt;
+
+    @Column(columnDefinition = "TIMESTAMP WITHOUT TIME ZONE")
+    private Instant updatedAt;
+
+    public ImportJob() {
+    }
+
+    public ImportJob(String format) {
+        this.format = format;
+        this.status = ImportStatus.RUNNING;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getFormat() {
+        return format;
+    }
+
+    public ImportStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(ImportStatus status) {
+        this.status = status;
+    }
+
+    public long getProcessedRows() {
+        return processedRows;
+    }
+
+    public long getImportedRows() {
+        return importedRows;
+    }
+
+    public long getRejectedRows() {
+        return rejectedRows;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    public List<ImportJobError> getErrors() {
+        return errors;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void advance(long processed, long imported, List<ImportJobError> chunkErrors) {
+        for (ImportJobError error : chunkErrors) {
+            if (rejectedRows < MAX_ERRORS) {
+                errors.add(error);
+            }
+            rejectedRows++;
+        }
+        processedRows += processed;
+        importedRows += imported;
+    }
+
+    @PrePersist
+    public void prePersist() {
+        createdAt = Instant.now();
+        updatedAt = createdAt;
+    }
+
+    @PreUpdate
+    public void preUpdate() {
+        updatedAt = Instant.now();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        ImportJob importJob = (ImportJob) o;
+        return Objects.equals(id, importJob.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(id);
+    }
+}
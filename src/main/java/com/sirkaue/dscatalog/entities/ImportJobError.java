@@ -0,0 +1,31 @@
+package com.sirkaue.dscatalog.entities;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+
+import java.io.Serializable;
+
+@Embeddable
+public class ImportJobError implements Serializable {
+
+    private Long rowNumber;
+
+    @Column(columnDefinition = "TEXT")
+    private String message;
+
+    public ImportJobError() {
+    }
+
+    public ImportJobError(Long rowNumber, String message) {
+        this.rowNumber = rowNumber;
+        this.message = message;
+    }
+
+    public Long getRowNumber() {
+        return rowNumber;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+}
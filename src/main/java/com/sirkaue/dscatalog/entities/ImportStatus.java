@@ -0,0 +1,7 @@
+package com.sirkaue.dscatalog.entities;
+
+public enum ImportStatus {
+    RUNNING,
+    FAILED,
+    COMPLETED
+}
@@ -1,6 +1,8 @@
 package com.sirkaue.dscatalog.entities;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.io.Serializable;
 import java.time.Instant;
@@ -12,8 +14,14 @@ import java.util.Set;
 @Table(name = "tb_product")
 public class Product implements Serializable {
 
+    /*
+    Com IDENTITY o Hibernate precisa executar cada INSERT na hora para descobrir o id, o que desliga o batch de
+    JDBC. A sequence com otimizador pooled-lo reserva 50 ids por ida ao banco e permite enviar os INSERTs de
+    produto e de tb_product_category em lotes.
+    */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "product_seq")
+    @SequenceGenerator(name = "product_seq", sequenceName = "tb_product_seq", allocationSize = 50)
     private Long id;
     private String name;
 
@@ -25,7 +33,19 @@ public class Product implements Serializable {
     @Column(columnDefinition = "TIMESTAMP WITHOUT TIME ZONE")
     private Instant date;
 
+    /*
+    Incrementado pelo Hibernate a cada UPDATE (inclusive quando so as categorias mudam). Junto com updatedAt e usado
+    para montar o ETag e o Last-Modified das respostas sem precisar carregar o produto inteiro. E primitivo para que
+    o Spring Data continue decidindo entre persist e merge pelo id.
+    */
+    @Version
+    private long version;
+
+    @Column(columnDefinition = "TIMESTAMP WITHOUT TIME ZONE")
+    private Instant updatedAt;
+
     @ManyToMany
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "product-categories")
     @JoinTable(
             name = "tb_product_category",
             joinColumns = @JoinColumn(name = "product_id"),
@@ -93,10 +113,24 @@ public class Product implements Serializable {
         this.date = date;
     }
 
+    public long getVersion() {
+        return version;
+    }
+
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+
     public Set<Category> getCategories() {
         return categories;
     }
 
+    @PrePersist
+    @PreUpdate
+    public void touch() {
+        updatedAt = Instant.now();
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
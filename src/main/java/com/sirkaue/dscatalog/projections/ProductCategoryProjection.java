@@ -0,0 +1,10 @@
+package com.sirkaue.dscatalog.projections;
+
+public interface ProductCategoryProjection {
+
+    Long getProductId();
+
+    Long getCategoryId();
+
+    String getCategoryName();
+}
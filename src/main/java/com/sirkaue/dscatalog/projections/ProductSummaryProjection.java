@@ -0,0 +1,12 @@
+package com.sirkaue.dscatalog.projections;
+
+public interface ProductSummaryProjection {
+
+    Long getId();
+
+    String getName();
+
+    Double getPrice();
+
+    String getImgUrl();
+}
@@ -0,0 +1,10 @@
+package com.sirkaue.dscatalog.projections;
+
+public interface ProductTextProjection {
+
+    Long getId();
+
+    String getName();
+
+    String getDescription();
+}
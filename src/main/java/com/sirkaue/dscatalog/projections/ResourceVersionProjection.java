@@ -0,0 +1,15 @@
+package com.sirkaue.dscatalog.projections;
+
+import java.time.Instant;
+
+public interface ResourceVersionProjection {
+
+    Long getId();
+
+    /*
+    Nulo para entidades sem coluna de versao (ex.: Category); nesse caso so o lastModified entra no ETag.
+    */
+    Long getVersion();
+
+    Instant getLastModified();
+}
@@ -0,0 +1,8 @@
+package com.sirkaue.dscatalog.projections;
+
+public interface UserEmailProjection {
+
+    Long getId();
+
+    String getEmail();
+}
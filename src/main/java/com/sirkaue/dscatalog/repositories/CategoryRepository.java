@@ -1,9 +1,51 @@
 package com.sirkaue.dscatalog.repositories;
 
 import com.sirkaue.dscatalog.entities.Category;
+import com.sirkaue.dscatalog.projections.ResourceVersionProjection;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
 @Repository
 public interface CategoryRepository extends JpaRepository<Category, Long> {
+
+    /*
+    As listagens de categorias vao para o cache de consultas do Hibernate, que e invalidado automaticamente a cada
+    escrita em tb_category.
+    */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("SELECT obj FROM Category obj")
+    Slice<Category> findSlice(Pageable pageable);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("SELECT obj.id AS id, COALESCE(obj.updatedAt, obj.createdAt) AS lastModified FROM Category obj " +
+            "WHERE obj.id = :id")
+    Optional<ResourceVersionProjection> findVersionById(Long id);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("SELECT obj.id AS id, COALESCE(obj.updatedAt, obj.createdAt) AS lastModified FROM Category obj")
+    Slice<ResourceVersionProjection> findVersions(Pageable pageable);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("SELECT MAX(COALESCE(obj.updatedAt, obj.createdAt)) FROM Category obj")
+    Instant findLastModified();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("SELECT obj FROM Category obj WHERE obj.id > :id ORDER BY obj.id")
+    List<Category> findAfterId(Long id, Limit limit);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("SELECT obj FROM Category obj WHERE obj.name > :name OR (obj.name = :name AND obj.id > :id) " +
+            "ORDER BY obj.name, obj.id")
+    List<Category> findAfterName(String name, Long id, Limit limit);
 }
@@ -0,0 +1,20 @@
+package com.sirkaue.dscatalog.repositories;
+
+import com.sirkaue.dscatalog.entities.ImportJob;
+import com.sirkaue.dscatalog.entities.ImportStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ImportJobRepository extends JpaRepository<ImportJob, Long> {
+
+    /*
+    Troca o status somente se ele ainda for o esperado; devolve 0 quando outra requisicao chegou antes.
+    */
+    @Modifying
+    @Query("UPDATE ImportJob obj SET obj.status = :status, obj.message = NULL " +
+            "WHERE obj.id = :id AND obj.status = :expected")
+    int updateStatus(Long id, ImportStatus expected, ImportStatus status);
+}
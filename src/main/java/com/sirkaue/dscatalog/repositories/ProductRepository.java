@@ -1,9 +1,86 @@
 package com.sirkaue.dscatalog.repositories;
 
 import com.sirkaue.dscatalog.entities.Product;
+import com.sirkaue.dscatalog.projections.ProductCategoryProjection;
+import com.sirkaue.dscatalog.projections.ProductExportProjection;
+import com.sirkaue.dscatalog.projections.ProductSummaryProjection;
+import com.sirkaue.dscatalog.projections.ProductTextProjection;
+import com.sirkaue.dscatalog.projections.ResourceVersionProjection;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
 @Repository
 public interface ProductRepository extends JpaRepository<Product, Long> {
+
+    @Query("SELECT obj.id FROM Product obj")
+    Slice<Long> findProductIds(Pageable pageable);
+
+    @Query("SELECT DISTINCT obj FROM Product obj LEFT JOIN FETCH obj.categories WHERE obj.id IN :ids")
+    List<Product> searchProductsWithCategories(List<Long> ids);
+
+    @Query("SELECT obj.id AS id, obj.version AS version, obj.updatedAt AS lastModified FROM Product obj " +
+            "WHERE obj.id = :id")
+    Optional<ResourceVersionProjection> findVersionById(Long id);
+
+    @Query("SELECT obj.id AS id, obj.version AS version, obj.updatedAt AS lastModified FROM Product obj")
+    Slice<ResourceVersionProjection> findVersions(Pageable pageable);
+
+    @Query("SELECT obj.id AS id, obj.name AS name, obj.price AS price, obj.imgUrl AS imgUrl FROM Product obj")
+    Slice<ProductSummaryProjection> findSummaries(Pageable pageable);
+
+    @Query("SELECT obj.id AS productId, c.id AS categoryId, c.name AS categoryName " +
+            "FROM Product obj JOIN obj.categories c WHERE obj.id IN :ids")
+    List<ProductCategoryProjection> findCategoriesByProductIds(List<Long> ids);
+
+    @Query("SELECT obj.id AS id, obj.name AS name, obj.description AS description FROM Product obj " +
+            "WHERE obj.id > :id ORDER BY obj.id")
+    List<ProductTextProjection> findTextsAfterId(Long id, Limit limit);
+
+    @Query("SELECT obj.id FROM Product obj WHERE obj.id > :id ORDER BY obj.id")
+    List<Long> findIdsAfterId(Long id, Limit limit);
+
+    /*
+    Uma linha por par produto/categoria, ordenada por id, para a exportacao agrupar as categorias sem consultas
+    extras. O fetch size faz o driver ler o resultado aos poucos em vez de carregar tudo na memoria; no MySQL isso
+    so acontece com useCursorFetch=true (spring.datasource.hikari.data-source-properties), senao o Connector/J ignora
+    o fetch size e traz o resultado inteiro.
+    */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT obj.id AS id, obj.name AS name, obj.description AS description, obj.price AS price, " +
+            "obj.imgUrl AS imgUrl, obj.date AS date, c.id AS categoryId, c.name AS categoryName " +
+            "FROM Product obj LEFT JOIN obj.categories c ORDER BY obj.id, c.id")
+    Stream<ProductExportProjection> streamAllForExport();
+
+    /*
+    Sem o query space, o Hibernate nao sabe quais tabelas um comando nativo altera e limpa todo o cache de segundo
+    nivel; com ele, so a regiao product-categories e invalidada.
+    */
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "tb_product_category"))
+    @Query(nativeQuery = true, value = "DELETE FROM tb_product_category WHERE product_id IN :ids")
+    int deleteCategoryLinks(Collection<Long> ids);
+
+    @Modifying
+    @Query("DELETE FROM Product obj WHERE obj.id IN :ids")
+    int deleteProducts(Collection<Long> ids);
+
+    @Query("SELECT obj.id FROM Product obj WHERE obj.name > :name OR (obj.name = :name AND obj.id > :id) " +
+            "ORDER BY obj.name, obj.id")
+    List<Long> findIdsAfterName(String name, Long id, Limit limit);
 }
@@ -1,11 +1,41 @@
 package com.sirkaue.dscatalog.repositories;
 
 import com.sirkaue.dscatalog.entities.User;
+import com.sirkaue.dscatalog.projections.UserEmailProjection;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+import java.util.Optional;
+
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
 
     User findByEmail(String email);
+
+    @Query("SELECT obj.email FROM User obj WHERE obj.id = :id")
+    Optional<String> findEmailById(Long id);
+
+    /*
+    Usa so o indice unico de email, sem carregar a entidade nem os perfis.
+    */
+    @Query("SELECT obj.id FROM User obj WHERE obj.email = :email")
+    Optional<Long> findIdByEmail(String email);
+
+    @Query("SELECT obj.id AS id, obj.email AS email FROM User obj WHERE obj.id > :id ORDER BY obj.id")
+    List<UserEmailProjection> findEmailsAfterId(Long id, Limit limit);
+
+    @Query("SELECT obj FROM User obj")
+    Slice<User> findSlice(Pageable pageable);
+
+    @Query("SELECT obj FROM User obj WHERE obj.id > :id ORDER BY obj.id")
+    List<User> findAfterId(Long id, Limit limit);
+
+    @Query("SELECT obj FROM User obj WHERE obj.email > :email OR (obj.email = :email AND obj.id > :id) " +
+            "ORDER BY obj.email, obj.id")
+    List<User> findAfterEmail(String email, Long id, Limit limit);
 }
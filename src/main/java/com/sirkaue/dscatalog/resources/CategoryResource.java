@@ -1,11 +1,16 @@
 package com.sirkaue.dscatalog.resources;
 
 import com.sirkaue.dscatalog.dto.CategoryDto;
+import com.sirkaue.dscatalog.dto.CursorPageDto;
+import com.sirkaue.dscatalog.dto.ResourceVersionDto;
 import com.sirkaue.dscatalog.services.CategoryService;
-import org.springframework.data.domain.Page;
+import com.sirkaue.dscatalog.services.cache.SerializedResponse;
+import com.sirkaue.dscatalog.services.cache.SerializedResponseCache;
+import com.sirkaue.dscatalog.util.Cursor;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 import java.net.URI;
@@ -15,21 +20,43 @@ import java.net.URI;
 public class CategoryResource {
 
     private final CategoryService service;
+    private final SerializedResponseCache responseCache;
 
-    public CategoryResource(CategoryService service) {
+    public CategoryResource(CategoryService service, SerializedResponseCache responseCache) {
         this.service = service;
+        this.responseCache = responseCache;
     }
 
     @GetMapping
-    public ResponseEntity<Page<CategoryDto>> findAll(Pageable pageable) {
-        Page<CategoryDto> list = service.findAllPaged(pageable);
-        return ResponseEntity.ok().body(list);
+    public ResponseEntity<byte[]> findAll(Pageable pageable, @RequestParam(defaultValue = "true") boolean count,
+                                          WebRequest request) {
+        ResourceVersionDto version = service.findPageVersion(pageable, count);
+        if (request.checkNotModified(version.getEtag(), version.getLastModifiedMillis())) {
+            return null;
+        }
+        SerializedResponse response = responseCache.get(SerializedResponseCache.CATEGORY_PAGES,
+                pageable + ", count: " + count, version.getEtag(),
+                () -> service.findVersionedPage(pageable, count));
+        return SerializedResponses.of(response, request);
+    }
+
+    @GetMapping("/cursor")
+    public ResponseEntity<CursorPageDto<CategoryDto>> findAllByCursor(@RequestParam(required = false) String after,
+                                                                      @RequestParam(defaultValue = "20") int size,
+                                                                      @RequestParam(defaultValue = "id") String sort) {
+        CursorPageDto<CategoryDto> page = service.findAllByCursor(after, Cursor.pageSize(size), sort);
+        return ResponseEntity.ok().body(page);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<CategoryDto> findById(@PathVariable Long id) {
-        CategoryDto dto = service.findById(id);
-        return ResponseEntity.ok().body(dto);
+    public ResponseEntity<byte[]> findById(@PathVariable Long id, WebRequest request) {
+        ResourceVersionDto version = service.findVersion(id);
+        if (request.checkNotModified(version.getEtag(), version.getLastModifiedMillis())) {
+            return null;
+        }
+        SerializedResponse response = responseCache.get(SerializedResponseCache.CATEGORIES, id, version.getEtag(),
+                () -> service.findVersionedById(id));
+        return SerializedResponses.of(response, request);
     }
 
     @PostMapping
@@ -1,36 +1,111 @@
 package com.sirkaue.dscatalog.resources;
 
+import com.sirkaue.dscatalog.dto.CursorPageDto;
+import com.sirkaue.dscatalog.dto.ImportJobDto;
+import com.sirkaue.dscatalog.dto.ProductBatchDto;
+import com.sirkaue.dscatalog.dto.ProductBatchItemDto;
 import com.sirkaue.dscatalog.dto.ProductDto;
+import com.sirkaue.dscatalog.dto.ProductSummaryDto;
+import com.sirkaue.dscatalog.dto.ResourceVersionDto;
+import com.sirkaue.dscatalog.services.ProductExportService;
+import com.sirkaue.dscatalog.services.ProductImportService;
 import com.sirkaue.dscatalog.services.ProductService;
+import com.sirkaue.dscatalog.services.cache.SerializedResponse;
+import com.sirkaue.dscatalog.services.cache.SerializedResponseCache;
+import com.sirkaue.dscatalog.services.io.DataFormat;
+import com.sirkaue.dscatalog.util.Cursor;
 import jakarta.validation.Valid;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.io.InputStream;
 import java.net.URI;
+import java.util.List;
 
 @RestController
 @RequestMapping("/products")
 public class ProductResource {
 
     private final ProductService service;
+    private final ProductExportService exportService;
+    private final ProductImportService importService;
+    private final SerializedResponseCache responseCache;
 
-    public ProductResource(ProductService service) {
+    public ProductResource(ProductService service, ProductExportService exportService,
+                           ProductImportService importService, SerializedResponseCache responseCache) {
         this.service = service;
+        this.exportService = exportService;
+        this.importService = importService;
+        this.responseCache = responseCache;
     }
 
     @GetMapping
-    public ResponseEntity<Page<ProductDto>> findAll(Pageable pageable) {
-        Page<ProductDto> list = service.findAllPaged(pageable);
+    public ResponseEntity<byte[]> findAll(Pageable pageable, @RequestParam(defaultValue = "true") boolean count,
+                                          WebRequest request) {
+        ResourceVersionDto version = service.findPageVersion(pageable, count);
+        if (request.checkNotModified(version.getEtag(), version.getLastModifiedMillis())) {
+            return null;
+        }
+        SerializedResponse response = responseCache.get(SerializedResponseCache.PRODUCT_PAGES,
+                pageable + ", count: " + count, version.getEtag(),
+                () -> service.findVersionedPage(pageable, count));
+        return SerializedResponses.of(response, request);
+    }
+
+    @GetMapping(params = "view=summary")
+    public ResponseEntity<Slice<ProductSummaryDto>> findAllSummary(Pageable pageable,
+                                                                   @RequestParam(defaultValue = "true") boolean count) {
+        Slice<ProductSummaryDto> list = count
+                ? service.findAllSummaryPaged(pageable)
+                : service.findAllSummarySliced(pageable);
+        return ResponseEntity.ok().body(list);
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<Page<ProductDto>> search(@RequestParam("q") String query, Pageable pageable) {
+        Page<ProductDto> list = service.search(query, pageable);
         return ResponseEntity.ok().body(list);
     }
 
+    @GetMapping("/cursor")
+    public ResponseEntity<CursorPageDto<ProductDto>> findAllByCursor(@RequestParam(required = false) String after,
+                                                                     @RequestParam(defaultValue = "20") int size,
+                                                                     @RequestParam(defaultValue = "id") String sort) {
+        CursorPageDto<ProductDto> page = service.findAllByCursor(after, Cursor.pageSize(size), sort);
+        return ResponseEntity.ok().body(page);
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(@RequestParam(defaultValue = "ndjson") String format) {
+        DataFormat dataFormat = DataFormat.of(format);
+        StreamingResponseBody body = out -> exportService.export(dataFormat, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(dataFormat.getMediaType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("products." + dataFormat.getExtension())
+                        .build()
+                        .toString())
+                .body(body);
+    }
+
     @GetMapping("/{id}")
-    public ResponseEntity<ProductDto> findById(@PathVariable Long id) {
-        ProductDto dto = service.findById(id);
-        return ResponseEntity.ok().body(dto);
+    public ResponseEntity<byte[]> findById(@PathVariable Long id, WebRequest request) {
+        ResourceVersionDto version = service.findVersion(id);
+        if (request.checkNotModified(version.getEtag(), version.getLastModifiedMillis())) {
+            return null;
+        }
+        SerializedResponse response = responseCache.get(SerializedResponseCache.PRODUCTS, id, version.getEtag(),
+                () -> service.findVersionedById(id));
+        return SerializedResponses.of(response, request);
     }
 
     @PostMapping
@@ -45,12 +120,38 @@ public class ProductResource {
         return ResponseEntity.created(uri).body(validatedDto);
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<List<ProductBatchItemDto>> insertAll(@RequestBody @Valid ProductBatchDto dto) {
+        List<ProductBatchItemDto> result = service.insertAll(dto.getProducts());
+        return ResponseEntity.ok().body(result);
+    }
+
+    @PostMapping("/import")
+    public ResponseEntity<ImportJobDto> importProducts(@RequestParam(defaultValue = "ndjson") String format,
+                                                       @RequestParam(required = false) Long jobId,
+                                                       InputStream body) {
+        ImportJobDto job = importService.importProducts(DataFormat.of(format), body, jobId);
+        return ResponseEntity.ok().body(job);
+    }
+
+    @GetMapping("/import/{jobId}")
+    public ResponseEntity<ImportJobDto> findImportJob(@PathVariable Long jobId) {
+        ImportJobDto job = importService.findJob(jobId);
+        return ResponseEntity.ok().body(job);
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<ProductDto> update(@PathVariable Long id, @RequestBody @Valid ProductDto dto) {
         ProductDto validatedDto = service.update(id, dto);
         return ResponseEntity.ok().body(validatedDto);
     }
 
+    @DeleteMapping(params = "ids")
+    public ResponseEntity<Void> deleteAll(@RequestParam List<Long> ids) {
+        service.deleteAll(ids);
+        return ResponseEntity.noContent().build();
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> delete(@PathVariable Long id) {
         service.delete(id);
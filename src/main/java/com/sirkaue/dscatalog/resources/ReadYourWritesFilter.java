@@ -0,0 +1,62 @@
+package com.sirkaue.dscatalog.resources;
+
+import com.sirkaue.dscatalog.config.ReplicaDataSource;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.WebUtils;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+
+/*
+Read-your-writes: depois de uma escrita (POST, PUT, PATCH, DELETE) o cliente recebe um cookie que expira ao fim da
+janela configurada, e enquanto ele existir as leituras desse cliente vao para o primario, que ja tem a escrita mesmo
+que as replicas ainda estejam atrasadas. Com a janela zerada, as leituras sempre vao para as replicas.
+*/
+@Component
+@ConditionalOnProperty(prefix = "dscatalog.datasource.replicas[0]", name = "url")
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    public static final String COOKIE = "DSCATALOG_PRIMARY";
+
+    private static final Set<String> WRITE_METHODS = Set.of("POST", "PUT", "PATCH", "DELETE");
+
+    private final Duration window;
+
+    public ReadYourWritesFilter(@Value("${dscatalog.datasource.read-your-writes-window:5s}") Duration window) {
+        this.window = window;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (window.isZero()) {
+            chain.doFilter(request, response);
+            return;
+        }
+        boolean write = WRITE_METHODS.contains(request.getMethod());
+        if (write) {
+            Cookie cookie = new Cookie(COOKIE, "1");
+            cookie.setPath("/");
+            cookie.setHttpOnly(true);
+            cookie.setMaxAge((int) Math.max(1, window.toSeconds()));
+            response.addCookie(cookie);
+        }
+        if (write || WebUtils.getCookie(request, COOKIE) != null) {
+            ReplicaDataSource.pinToPrimary();
+        }
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            ReplicaDataSource.unpin();
+        }
+    }
+}
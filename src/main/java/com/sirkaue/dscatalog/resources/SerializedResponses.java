@@ -0,0 +1,81 @@
+package com.sirkaue.dscatalog.resources;
+
+import com.sirkaue.dscatalog.services.cache.SerializedResponse;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.Locale;
+
+class SerializedResponses {
+
+    /*
+    Escreve os bytes do cache direto na resposta, escolhendo a versao gzip quando o cliente aceita. O ETag e o
+    Last-Modified definidos pelo checkNotModified sao trocados pelos dos bytes servidos, que podem ser mais novos se
+    houve uma escrita entre a consulta da versao e a leitura do corpo.
+    */
+    static ResponseEntity<byte[]> of(SerializedResponse response, WebRequest request) {
+        if (request instanceof NativeWebRequest nativeRequest) {
+            HttpServletResponse servletResponse = nativeRequest.getNativeResponse(HttpServletResponse.class);
+            if (servletResponse != null) {
+                servletResponse.setHeader(HttpHeaders.ETAG, "\"" + response.getEtag() + "\"");
+                if (response.getLastModified() != null) {
+                    servletResponse.setDateHeader(HttpHeaders.LAST_MODIFIED,
+                            response.getLastModified().toEpochMilli());
+                }
+            }
+        }
+
+        boolean gzip = response.getGzip() != null && acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            return builder.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(response.getGzip());
+        }
+        return builder.body(response.getJson());
+    }
+
+    /*
+    Segue os q-values do Accept-Encoding: gzip;q=0 recusa o gzip, e uma entrada gzip explicita vale mais que *.
+    */
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        Double gzip = null;
+        Double any = null;
+        for (String part : acceptEncoding.split(",")) {
+            String[] params = part.split(";");
+            String coding = params[0].trim().toLowerCase(Locale.ROOT);
+            double q = quality(params);
+            if (coding.equals("gzip") || coding.equals("x-gzip")) {
+                gzip = gzip == null ? q : Math.max(gzip, q);
+            } else if (coding.equals("*")) {
+                any = q;
+            }
+        }
+        if (gzip != null) {
+            return gzip > 0;
+        }
+        return any != null && any > 0;
+    }
+
+    private static double quality(String[] params) {
+        for (int i = 1; i < params.length; i++) {
+            String param = params[i].trim();
+            if (param.length() > 1 && Character.toLowerCase(param.charAt(0)) == 'q' && param.charAt(1) == '=') {
+                try {
+                    return Double.parseDouble(param.substring(2).trim());
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+}
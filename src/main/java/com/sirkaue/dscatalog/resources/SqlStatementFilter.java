@@ -0,0 +1,139 @@
+package com.sirkaue.dscatalog.resources;
+
+import com.sirkaue.dscatalog.util.SqlStatementCounter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+
+/*
+Conta os comandos SQL de cada requisicao e devolve o total no header X-SQL-Statements, escrito assim que a resposta
+comeca a ser gravada (o que vier depois, como em uma exportacao em streaming, fica so na metrica). Requisicoes acima
+do orcamento, ou com o mesmo SELECT repetido varias vezes (N+1), sao registradas em log com o comando repetido e
+contadas em dscatalog.http.sql.budget.exceeded / dscatalog.http.sql.repeated. O header so e enviado com
+dscatalog.sql.header.enabled=true (ligado no profile test), para nao expor esse detalhe em producao; a metrica e
+registrada sempre.
+*/
+@Component
+public class SqlStatementFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "X-SQL-Statements";
+
+    private static final Logger logger = LoggerFactory.getLogger(SqlStatementFilter.class);
+
+    private final MeterRegistry meterRegistry;
+    private final int budget;
+    private final int repeatThreshold;
+    private final boolean headerEnabled;
+
+    public SqlStatementFilter(MeterRegistry meterRegistry,
+                              @Value("${dscatalog.sql.budget:20}") int budget,
+                              @Value("${dscatalog.sql.repeat-threshold:5}") int repeatThreshold,
+                              @Value("${dscatalog.sql.header.enabled:false}") boolean headerEnabled) {
+        this.meterRegistry = meterRegistry;
+        this.budget = budget;
+        this.repeatThreshold = repeatThreshold;
+        this.headerEnabled = headerEnabled;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        try (SqlStatementCounter.Scope scope = SqlStatementCounter.open()) {
+            CountingResponse countingResponse = headerEnabled ? new CountingResponse(response, scope) : null;
+            try {
+                chain.doFilter(request, countingResponse != null ? countingResponse : response);
+            } finally {
+                if (countingResponse != null) {
+                    countingResponse.writeHeader();
+                }
+                record(request, scope);
+            }
+        }
+    }
+
+    private void record(HttpServletRequest request, SqlStatementCounter.Scope scope) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern == null ? "UNKNOWN" : pattern.toString();
+        String method = request.getMethod();
+        DistributionSummary.builder("dscatalog.http.sql.statements")
+                .tag("method", method)
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(scope.getCount());
+
+        if (scope.getCount() > budget) {
+            Counter.builder("dscatalog.http.sql.budget.exceeded").tag("method", method).tag("uri", uri)
+                    .register(meterRegistry).increment();
+            logger.warn("SQL budget exceeded ({}): {} {} executed {}", budget, method, uri, scope.describe());
+        } else if (scope.getMaxRepetitions() >= repeatThreshold) {
+            logger.warn("Possible N+1: {} {} executed {}", method, uri, scope.describe());
+        }
+        if (scope.getMaxRepetitions() >= repeatThreshold) {
+            Counter.builder("dscatalog.http.sql.repeated").tag("method", method).tag("uri", uri)
+                    .register(meterRegistry).increment();
+        }
+    }
+
+    private static class CountingResponse extends HttpServletResponseWrapper {
+
+        private final SqlStatementCounter.Scope scope;
+        private boolean headerWritten;
+
+        private CountingResponse(HttpServletResponse response, SqlStatementCounter.Scope scope) {
+            super(response);
+            this.scope = scope;
+        }
+
+        private void writeHeader() {
+            if (!headerWritten && !isCommitted()) {
+                setHeader(HEADER, String.valueOf(scope.getCount()));
+            }
+            headerWritten = true;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            writeHeader();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            writeHeader();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            writeHeader();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            writeHeader();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            writeHeader();
+            super.sendError(sc);
+        }
+    }
+}
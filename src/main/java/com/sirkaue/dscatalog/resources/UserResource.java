@@ -1,12 +1,14 @@
 package com.sirkaue.dscatalog.resources;
 
+import com.sirkaue.dscatalog.dto.CursorPageDto;
 import com.sirkaue.dscatalog.dto.UserDto;
 import com.sirkaue.dscatalog.dto.UserInsertDto;
 import com.sirkaue.dscatalog.dto.UserUpdateDto;
 import com.sirkaue.dscatalog.services.UserService;
+import com.sirkaue.dscatalog.util.Cursor;
 import jakarta.validation.Valid;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
@@ -24,11 +26,20 @@ public class UserResource {
     }
 
     @GetMapping
-    public ResponseEntity<Page<UserDto>> findAll(Pageable pageable) {
-        Page<UserDto> list = service.findAllPaged(pageable);
+    public ResponseEntity<Slice<UserDto>> findAll(Pageable pageable,
+                                                  @RequestParam(defaultValue = "true") boolean count) {
+        Slice<UserDto> list = count ? service.findAllPaged(pageable) : service.findAllSliced(pageable);
         return ResponseEntity.ok().body(list);
     }
 
+    @GetMapping("/cursor")
+    public ResponseEntity<CursorPageDto<UserDto>> findAllByCursor(@RequestParam(required = false) String after,
+                                                                  @RequestParam(defaultValue = "20") int size,
+                                                                  @RequestParam(defaultValue = "id") String sort) {
+        CursorPageDto<UserDto> page = service.findAllByCursor(after, Cursor.pageSize(size), sort);
+        return ResponseEntity.ok().body(page);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<UserDto> findById(@PathVariable Long id) {
         UserDto dto = service.findById(id);
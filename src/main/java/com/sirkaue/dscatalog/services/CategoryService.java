@@ -1,15 +1,31 @@
 package com.sirkaue.dscatalog.services;
 
 import com.sirkaue.dscatalog.dto.CategoryDto;
+import com.sirkaue.dscatalog.dto.CursorPageDto;
+import com.sirkaue.dscatalog.dto.ResourceVersionDto;
+import com.sirkaue.dscatalog.dto.VersionedDto;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 
 public interface CategoryService {
 
     Page<CategoryDto> findAllPaged(Pageable pageable);
 
+    Slice<CategoryDto> findAllSliced(Pageable pageable);
+
+    CursorPageDto<CategoryDto> findAllByCursor(String after, int size, String sort);
+
     CategoryDto findById(Long id);
 
+    ResourceVersionDto findVersion(Long id);
+
+    ResourceVersionDto findPageVersion(Pageable pageable, boolean count);
+
+    VersionedDto<CategoryDto> findVersionedById(Long id);
+
+    VersionedDto<Slice<CategoryDto>> findVersionedPage(Pageable pageable, boolean count);
+
     CategoryDto insert(CategoryDto dto);
 
     CategoryDto update(Long id, CategoryDto dto);
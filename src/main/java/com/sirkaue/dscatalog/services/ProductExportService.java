@@ -0,0 +1,11 @@
+package com.sirkaue.dscatalog.services;
+
+import com.sirkaue.dscatalog.services.io.DataFormat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface ProductExportService {
+
+    void export(DataFormat format, OutputStream out) throws IOException;
+}
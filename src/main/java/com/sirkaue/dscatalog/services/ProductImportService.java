@@ -0,0 +1,13 @@
+package com.sirkaue.dscatalog.services;
+
+import com.sirkaue.dscatalog.dto.ImportJobDto;
+import com.sirkaue.dscatalog.services.io.DataFormat;
+
+import java.io.InputStream;
+
+public interface ProductImportService {
+
+    ImportJobDto importProducts(DataFormat format, InputStream in, Long jobId);
+
+    ImportJobDto findJob(Long jobId);
+}
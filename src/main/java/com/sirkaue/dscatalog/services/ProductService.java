@@ -1,18 +1,48 @@
 package com.sirkaue.dscatalog.services;
 
+import com.sirkaue.dscatalog.dto.CursorPageDto;
+import com.sirkaue.dscatalog.dto.ProductBatchItemDto;
 import com.sirkaue.dscatalog.dto.ProductDto;
+import com.sirkaue.dscatalog.dto.ProductSummaryDto;
+import com.sirkaue.dscatalog.dto.ResourceVersionDto;
+import com.sirkaue.dscatalog.dto.VersionedDto;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
 
 public interface ProductService {
 
     Page<ProductDto> findAllPaged(Pageable pageable);
 
+    Slice<ProductDto> findAllSliced(Pageable pageable);
+
+    Page<ProductSummaryDto> findAllSummaryPaged(Pageable pageable);
+
+    Slice<ProductSummaryDto> findAllSummarySliced(Pageable pageable);
+
+    Page<ProductDto> search(String query, Pageable pageable);
+
+    CursorPageDto<ProductDto> findAllByCursor(String after, int size, String sort);
+
     ProductDto findById(Long id);
 
+    ResourceVersionDto findVersion(Long id);
+
+    ResourceVersionDto findPageVersion(Pageable pageable, boolean count);
+
+    VersionedDto<ProductDto> findVersionedById(Long id);
+
+    VersionedDto<Slice<ProductDto>> findVersionedPage(Pageable pageable, boolean count);
+
     ProductDto insert(ProductDto dto);
 
+    List<ProductBatchItemDto> insertAll(List<ProductDto> dtos);
+
     ProductDto update(Long id, ProductDto dto);
 
     void delete(Long id);
+
+    void deleteAll(List<Long> ids);
 }
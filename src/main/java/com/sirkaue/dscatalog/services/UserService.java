@@ -1,16 +1,22 @@
 package com.sirkaue.dscatalog.services;
 
+import com.sirkaue.dscatalog.dto.CursorPageDto;
 import com.sirkaue.dscatalog.dto.UserDto;
 import com.sirkaue.dscatalog.dto.UserInsertDto;
 import com.sirkaue.dscatalog.dto.UserUpdateDto;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.security.core.userdetails.UserDetailsService;
 
 public interface UserService extends UserDetailsService {
 
     Page<UserDto> findAllPaged(Pageable pageable);
 
+    Slice<UserDto> findAllSliced(Pageable pageable);
+
+    CursorPageDto<UserDto> findAllByCursor(String after, int size, String sort);
+
     UserDto findById(Long id);
 
     UserDto insert(UserInsertDto dto);
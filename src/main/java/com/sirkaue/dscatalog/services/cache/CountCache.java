@@ -0,0 +1,200 @@
+package com.sirkaue.dscatalog.services.cache;
+
+import com.sirkaue.dscatalog.config.ReplicaDataSource;
+import com.sirkaue.dscatalog.util.TransactionUtils;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/*
+Total aproximado de registros por tabela, usado no lugar do SELECT COUNT(*) das listagens paginadas. O valor e
+ajustado a cada insert/delete confirmado e recontado no banco quando o ttl expira, corrigindo eventuais desvios.
+*/
+@Component
+public class CountCache {
+
+    public static final String PRODUCTS = "products";
+    public static final String CATEGORIES = "categories";
+    public static final String USERS = "users";
+
+    private final long ttlNanos;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<String, CompletableFuture<Entry>> inFlight = new ConcurrentHashMap<>();
+
+    private final ExecutorService executor;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration timeout;
+    private final MeterRegistry meterRegistry;
+
+    public CountCache(@Value("${dscatalog.count-cache.ttl:5m}") Duration ttl,
+                      @Value("${dscatalog.count-cache.concurrent.enabled:true}") boolean concurrent,
+                      @Value("${dscatalog.count-cache.concurrent.pool-size:4}") int poolSize,
+                      @Value("${dscatalog.count-cache.concurrent.queue-capacity:100}") int queueCapacity,
+                      @Value("${dscatalog.count-cache.concurrent.timeout:2s}") Duration timeout,
+                      PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        this.ttlNanos = ttl.toNanos();
+        this.timeout = timeout;
+        this.meterRegistry = meterRegistry;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.transactionTemplate.setReadOnly(true);
+        this.executor = concurrent ? createExecutor(poolSize, queueCapacity) : null;
+    }
+
+    public long get(String name, LongSupplier counter) {
+        Entry entry = fresh(name);
+        if (entry == null) {
+            entry = load(name, counter, "inline");
+        }
+        return entry.value.get();
+    }
+
+    /*
+    Usado antes da consulta da pagina: se o total estiver vencido, dispara o COUNT em outra thread, com conexao e
+    transacao somente leitura proprias, para que ele rode ao mesmo tempo que a consulta do conteudo. Ha no maximo um
+    COUNT em andamento por nome: as requisicoes que chegam enquanto ele roda esperam o mesmo resultado. O LongSupplier
+    devolvido espera o resultado; se o executor estiver cheio, o COUNT falhar ou demorar mais que o timeout (ex.:
+    pool de conexoes esgotado), vale o ultimo total conhecido, mesmo vencido, e so sem nenhum a contagem e feita na
+    thread e transacao de quem chamou. O COUNT em outra thread roda em ReplicaDataSource.onPrimary.
+    */
+    public LongSupplier prefetch(String name, LongSupplier counter) {
+        Entry entry = fresh(name);
+        if (entry != null) {
+            return entry.value::get;
+        }
+        if (executor == null) {
+            return () -> get(name, counter);
+        }
+
+        CompletableFuture<Entry> future = inFlight.get(name);
+        if (future == null) {
+            CompletableFuture<Entry> created = new CompletableFuture<>();
+            future = inFlight.putIfAbsent(name, created);
+            if (future == null) {
+                future = created;
+                try {
+                    executor.execute(() -> {
+                        try {
+                            created.complete(ReplicaDataSource.onPrimary(() ->
+                                    transactionTemplate.execute(status -> load(name, counter, "concurrent"))));
+                        } catch (Throwable e) {
+                            created.completeExceptionally(e);
+                        } finally {
+                            inFlight.remove(name, created);
+                        }
+                    });
+                } catch (RejectedExecutionException e) {
+                    inFlight.remove(name, created);
+                    fallback(name, "rejected");
+                    return () -> stale(name, counter);
+                }
+            }
+        }
+
+        CompletableFuture<Entry> shared = future;
+        return () -> {
+            try {
+                return shared.get(timeout.toMillis(), TimeUnit.MILLISECONDS).value.get();
+            } catch (ExecutionException | TimeoutException e) {
+                fallback(name, e instanceof TimeoutException ? "timeout" : "error");
+                return stale(name, counter);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return stale(name, counter);
+            }
+        };
+    }
+
+    public void add(String name, long delta) {
+        TransactionUtils.afterCommit(() -> {
+            Entry entry = entries.get(name);
+            if (entry != null) {
+                entry.value.updateAndGet(v -> Math.max(0, v + delta));
+            }
+        });
+    }
+
+    public void invalidate(String name) {
+        TransactionUtils.afterCommit(() -> entries.remove(name));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    private Entry fresh(String name) {
+        Entry entry = entries.get(name);
+        if (entry == null || System.nanoTime() - entry.loadedAt > ttlNanos) {
+            return null;
+        }
+        return entry;
+    }
+
+    private Entry load(String name, LongSupplier counter, String mode) {
+        long start = System.nanoTime();
+        Entry entry = new Entry(counter.getAsLong(), start);
+        Timer.builder("dscatalog.count.query")
+                .tag("name", name)
+                .tag("mode", mode)
+                .register(meterRegistry)
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        entries.put(name, entry);
+        return entry;
+    }
+
+    private long stale(String name, LongSupplier counter) {
+        Entry entry = entries.get(name);
+        return entry != null ? entry.value.get() : get(name, counter);
+    }
+
+    private void fallback(String name, String reason) {
+        meterRegistry.counter("dscatalog.count.fallback", "name", name, "reason", reason).increment();
+    }
+
+    private ExecutorService createExecutor(int poolSize, int queueCapacity) {
+        AtomicInteger threads = new AtomicInteger();
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(poolSize, poolSize, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), r -> {
+                    Thread thread = new Thread(r, "count-" + threads.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        pool.allowCoreThreadTimeOut(true);
+        return ExecutorServiceMetrics.monitor(meterRegistry, pool, "dscatalog.count");
+    }
+
+    private static class Entry {
+
+        private final AtomicLong value;
+        private final long loadedAt;
+
+        private Entry(long value, long loadedAt) {
+            this.value = new AtomicLong(value);
+            this.loadedAt = loadedAt;
+        }
+    }
+}
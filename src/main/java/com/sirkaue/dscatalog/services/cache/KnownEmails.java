@@ -0,0 +1,114 @@
+package com.sirkaue.dscatalog.services.cache;
+
+import com.sirkaue.dscatalog.projections.UserEmailProjection;
+import com.sirkaue.dscatalog.repositories.UserRepository;
+import com.sirkaue.dscatalog.util.BloomFilter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Locale;
+
+/*
+Filtro de Bloom com os emails cadastrados, usado pelos validadores de usuario: quando o email certamente nao existe,
+a verificacao de unicidade nao vai ao banco. O filtro e montado quando a aplicacao sobe e, ate ficar pronto, toda
+consulta cai no banco. O UserServiceImpl adiciona os emails inseridos ou alterados antes do commit, para que nenhum
+validador veja como novo um email que ja esta sendo gravado. Removidos e antigos continuam no filtro ate o proximo
+restart e custam so a consulta ao indice unico; o mesmo vale para emails gravados por outras instancias, que sao
+barrados pela constraint do banco. Os acertos aparecem em dscatalog.known-emails.checks (result=absent/present/
+false-positive).
+*/
+@Component
+public class KnownEmails {
+
+    private static final Logger logger = LoggerFactory.getLogger(KnownEmails.class);
+
+    private static final int LOAD_CHUNK_SIZE = 1000;
+
+    private final UserRepository repository;
+    private final long expectedInsertions;
+    private final double falsePositiveProbability;
+
+    private final Counter absent;
+    private final Counter present;
+    private final Counter falsePositive;
+
+    private volatile BloomFilter filter;
+    private volatile boolean ready;
+
+    public KnownEmails(UserRepository repository,
+                       @Value("${dscatalog.known-emails.expected-insertions:1000000}") long expectedInsertions,
+                       @Value("${dscatalog.known-emails.false-positive-probability:0.01}")
+                       double falsePositiveProbability,
+                       MeterRegistry meterRegistry) {
+        this.repository = repository;
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveProbability = falsePositiveProbability;
+        this.filter = new BloomFilter(expectedInsertions, falsePositiveProbability);
+        this.absent = meterRegistry.counter("dscatalog.known-emails.checks", "result", "absent");
+        this.present = meterRegistry.counter("dscatalog.known-emails.checks", "result", "present");
+        this.falsePositive = meterRegistry.counter("dscatalog.known-emails.checks", "result", "false-positive");
+        Gauge.builder("dscatalog.known-emails.size", this, known -> known.filter.getInsertions())
+                .register(meterRegistry);
+    }
+
+    /*
+    Os emails adicionados durante a carga vao direto para o novo filtro, que ja e o corrente.
+    */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        ready = false;
+        filter = new BloomFilter(Math.max(expectedInsertions, 2 * repository.count()), falsePositiveProbability);
+        long lastId = 0L;
+        List<UserEmailProjection> chunk;
+        do {
+            chunk = repository.findEmailsAfterId(lastId, Limit.of(LOAD_CHUNK_SIZE));
+            for (UserEmailProjection user : chunk) {
+                add(user.getEmail());
+                lastId = user.getId();
+            }
+        } while (chunk.size() == LOAD_CHUNK_SIZE);
+        ready = true;
+        logger.info("Known emails filter built with {} emails in {} ms", filter.getInsertions(),
+                System.currentTimeMillis() - start);
+    }
+
+    public void add(String email) {
+        if (email != null) {
+            filter.add(normalize(email));
+        }
+    }
+
+    /*
+    false significa que o email certamente nao esta cadastrado; true exige confirmar no banco.
+    */
+    public boolean mightExist(String email) {
+        if (email == null) {
+            return false;
+        }
+        if (!ready || filter.mightContain(normalize(email))) {
+            return true;
+        }
+        absent.increment();
+        return false;
+    }
+
+    public void recordLookup(boolean found) {
+        if (ready) {
+            (found ? present : falsePositive).increment();
+        }
+    }
+
+    private static String normalize(String email) {
+        return email.toLowerCase(Locale.ROOT);
+    }
+}
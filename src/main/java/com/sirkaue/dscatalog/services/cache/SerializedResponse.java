@@ -0,0 +1,42 @@
+package com.sirkaue.dscatalog.services.cache;
+
+import java.time.Instant;
+
+/*
+Representacao JSON de uma resposta ja serializada, com a versao gzip quando a compressao compensa. O etag e
+o lastModified identificam a versao do recurso usada para gerar os bytes.
+*/
+public class SerializedResponse {
+
+    private final String etag;
+    private final Instant lastModified;
+    private final byte[] json;
+    private final byte[] gzip;
+
+    public SerializedResponse(String etag, Instant lastModified, byte[] json, byte[] gzip) {
+        this.etag = etag;
+        this.lastModified = lastModified;
+        this.json = json;
+        this.gzip = gzip;
+    }
+
+    public String getEtag() {
+        return etag;
+    }
+
+    public Instant getLastModified() {
+        return lastModified;
+    }
+
+    public byte[] getJson() {
+        return json;
+    }
+
+    public byte[] getGzip() {
+        return gzip;
+    }
+
+    public int size() {
+        return json.length + (gzip == null ? 0 : gzip.length);
+    }
+}
@@ -0,0 +1,142 @@
+package com.sirkaue.dscatalog.services.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.sirkaue.dscatalog.config.ReplicaDataSource;
+import com.sirkaue.dscatalog.dto.ResourceVersionDto;
+import com.sirkaue.dscatalog.dto.VersionedDto;
+import com.sirkaue.dscatalog.util.TransactionUtils;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/*
+Cache dos bytes JSON (e gzip) das respostas mais lidas, para que um acerto nao passe de novo pelo Jackson nem pela
+compressao. Cada entrada guarda o etag e o lastModified da versao que o loader realmente leu (junto com o corpo,
+na mesma leitura), nao o etag consultado antes pelo resource: uma entrada com etag diferente do atual e tratada
+como ausente. As escritas nos services removem as entradas afetadas depois do commit e o ttl limita a vida de
+qualquer entrada que escape disso. O loader roda em ReplicaDataSource.onPrimary. O tamanho e limitado pelo total de
+bytes, nao pelo numero de entradas, e as estatisticas saem nas metricas cache.* com a tag cache=responses.
+*/
+@Component
+public class SerializedResponseCache {
+
+    public static final String PRODUCTS = "products";
+    public static final String PRODUCT_PAGES = "product-pages";
+    public static final String CATEGORIES = "categories";
+    public static final String CATEGORY_PAGES = "category-pages";
+
+    private static final int MIN_GZIP_SIZE = 256;
+
+    private final ObjectMapper objectMapper;
+    private final Cache<String, SerializedResponse> cache;
+    private final Map<String, CompletableFuture<SerializedResponse>> inFlight = new ConcurrentHashMap<>();
+
+    public SerializedResponseCache(ObjectMapper objectMapper,
+                                   @Value("${dscatalog.response-cache.max-size:64MB}") DataSize maxSize,
+                                   @Value("${dscatalog.response-cache.ttl:10m}") Duration ttl,
+                                   MeterRegistry meterRegistry) {
+        this.objectMapper = objectMapper;
+        this.cache = CaffeineCacheMetrics.monitor(meterRegistry, Caffeine.newBuilder()
+                .maximumWeight(maxSize.toBytes())
+                .expireAfterWrite(ttl)
+                .weigher((String key, SerializedResponse value) -> value.size())
+                .recordStats()
+                .<String, SerializedResponse>build(), "responses");
+    }
+
+    /*
+    Devolve a entrada se ela tiver o etag informado; senao serializa o que o loader leu e guarda com o etag dessa
+    leitura, que pode ser mais novo que o informado se houve uma escrita no meio. Ha no maximo uma carga em andamento
+    por chave e etag: quem chega enquanto ela roda (ex.: logo depois de um evictAll) espera o mesmo resultado.
+    */
+    public SerializedResponse get(String region, Object key, String etag,
+                                  Supplier<? extends VersionedDto<?>> loader) {
+        String cacheKey = cacheKey(region, key);
+        SerializedResponse cached = cache.getIfPresent(cacheKey);
+        if (cached != null && cached.getEtag().equals(etag)) {
+            return cached;
+        }
+
+        String loadKey = cacheKey + "@" + etag;
+        CompletableFuture<SerializedResponse> created = new CompletableFuture<>();
+        CompletableFuture<SerializedResponse> future = inFlight.putIfAbsent(loadKey, created);
+        if (future != null) {
+            return await(future);
+        }
+        try {
+            VersionedDto<?> loaded = ReplicaDataSource.onPrimary(loader);
+            SerializedResponse response = serialize(loaded.getVersion(), loaded.getBody());
+            cache.put(cacheKey, response);
+            created.complete(response);
+            return response;
+        } catch (RuntimeException | Error e) {
+            created.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(loadKey, created);
+        }
+    }
+
+    public void evict(String region, Object key) {
+        String cacheKey = cacheKey(region, key);
+        TransactionUtils.afterCommit(() -> cache.invalidate(cacheKey));
+    }
+
+    public void evictAll(String region) {
+        String prefix = cacheKey(region, "");
+        TransactionUtils.afterCommit(() -> cache.asMap().keySet().removeIf(k -> k.startsWith(prefix)));
+    }
+
+    private static SerializedResponse await(CompletableFuture<SerializedResponse> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private SerializedResponse serialize(ResourceVersionDto version, Object body) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(body);
+            return new SerializedResponse(version.getEtag(), version.getLastModified(), json, gzip(json));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unable to serialize response", e);
+        }
+    }
+
+    private static byte[] gzip(byte[] json) {
+        if (json.length < MIN_GZIP_SIZE) {
+            return null;
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream(json.length / 2);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.size() < json.length ? out.toByteArray() : null;
+    }
+
+    private static String cacheKey(String region, Object key) {
+        return region + ":" + key;
+    }
+}
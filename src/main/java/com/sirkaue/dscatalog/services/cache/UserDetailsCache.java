@@ -0,0 +1,53 @@
+package com.sirkaue.dscatalog.services.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.sirkaue.dscatalog.config.ReplicaDataSource;
+import com.sirkaue.dscatalog.util.TransactionUtils;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/*
+Cache dos usuarios carregados na autenticacao, por email, para que cada login ou emissao de token nao precise ir ao
+banco. A chave e o email como foi informado: se maiusculas e minusculas fazem diferenca depende da collation do
+banco, e o cache nao pode achar um usuario que a consulta nao acharia. Por isso as escritas em UserServiceImpl
+removem, depois do commit, todas as grafias do email afetado; o ttl limita por quanto tempo uma mudanca feita fora
+da aplicacao (ex.: perfis alterados direto no banco) continua invisivel. A carga roda em ReplicaDataSource.onPrimary.
+Cada chamada recebe uma copia, porque o ProviderManager apaga a senha do UserDetails depois de autenticar.
+*/
+@Component
+public class UserDetailsCache {
+
+    public static final String NAME = "user-details";
+
+    private final Cache<String, UserDetails> cache;
+
+    public UserDetailsCache(@Value("${dscatalog.user-details-cache.ttl:5m}") Duration ttl,
+                            @Value("${dscatalog.user-details-cache.max-size:10000}") long maxSize,
+                            MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, NAME);
+    }
+
+    public UserDetails get(String email, Function<String, UserDetails> loader) {
+        UserDetails cached = cache.get(email, k -> ReplicaDataSource.onPrimary(() -> loader.apply(email)));
+        return User.withUserDetails(cached).build();
+    }
+
+    public void evict(String email) {
+        if (email != null) {
+            TransactionUtils.afterCommit(() -> cache.asMap().keySet().removeIf(key -> key.equalsIgnoreCase(email)));
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.sirkaue.dscatalog.services.exceptions;
+
+public class InvalidCursorException extends RuntimeException {
+
+    public InvalidCursorException(String msg) {
+        super(msg);
+    }
+}
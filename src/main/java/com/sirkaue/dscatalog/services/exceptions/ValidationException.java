@@ -0,0 +1,15 @@
+package com.sirkaue.dscatalog.services.exceptions;
+
+public class ValidationException extends RuntimeException {
+
+    private final String fieldName;
+
+    public ValidationException(String fieldName, String msg) {
+        super(msg);
+        this.fieldName = fieldName;
+    }
+
+    public String getFieldName() {
+        return fieldName;
+    }
+}
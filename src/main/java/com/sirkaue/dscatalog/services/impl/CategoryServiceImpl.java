@@ -1,35 +1,85 @@
 package com.sirkaue.dscatalog.services.impl;
 
 import com.sirkaue.dscatalog.dto.CategoryDto;
+import com.sirkaue.dscatalog.dto.CursorPageDto;
+import com.sirkaue.dscatalog.dto.ResourceVersionDto;
+import com.sirkaue.dscatalog.dto.VersionedDto;
 import com.sirkaue.dscatalog.entities.Category;
+import com.sirkaue.dscatalog.projections.ResourceVersionProjection;
 import com.sirkaue.dscatalog.repositories.CategoryRepository;
 import com.sirkaue.dscatalog.services.CategoryService;
+import com.sirkaue.dscatalog.services.cache.CountCache;
+import com.sirkaue.dscatalog.services.cache.SerializedResponseCache;
 import com.sirkaue.dscatalog.services.exceptions.DatabaseException;
+import com.sirkaue.dscatalog.services.exceptions.InvalidCursorException;
 import com.sirkaue.dscatalog.services.exceptions.ResourceNotFoundException;
+import com.sirkaue.dscatalog.util.Cursor;
+import io.micrometer.core.annotation.Timed;
 import jakarta.persistence.EntityNotFoundException;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
+import java.util.function.LongSupplier;
 
 @Service
+@Timed("dscatalog.service")
 public class CategoryServiceImpl implements CategoryService {
 
     private final CategoryRepository repository;
+    private final CountCache countCache;
+    private final SerializedResponseCache responseCache;
 
-    public CategoryServiceImpl(CategoryRepository repository) {
+    public CategoryServiceImpl(CategoryRepository repository, CountCache countCache,
+                               SerializedResponseCache responseCache) {
         this.repository = repository;
+        this.countCache = countCache;
+        this.responseCache = responseCache;
     }
 
     @Override
     @Transactional(readOnly = true)
     public Page<CategoryDto> findAllPaged(Pageable pageable) {
-        Page<Category> list = repository.findAll(pageable);
-        Page<CategoryDto> listDto = list.map(x -> new CategoryDto(x));
-        return listDto;
+        LongSupplier total = countCache.prefetch(CountCache.CATEGORIES, repository::count);
+        Slice<Category> list = repository.findSlice(pageable);
+        List<CategoryDto> listDto = list.map(x -> new CategoryDto(x)).getContent();
+        return PageableExecutionUtils.getPage(listDto, pageable, total);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Slice<CategoryDto> findAllSliced(Pageable pageable) {
+        Slice<Category> list = repository.findSlice(pageable);
+        return list.map(x -> new CategoryDto(x));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDto<CategoryDto> findAllByCursor(String after, int size, String sort) {
+        Cursor cursor = Cursor.decode(after, sort);
+        Limit limit = Limit.of(size + 1);
+        List<Category> list = switch (cursor.getSort()) {
+            case "id" -> repository.findAfterId(cursor.getId(), limit);
+            case "name" -> repository.findAfterName(cursor.getKey(), cursor.getId(), limit);
+            default -> throw new InvalidCursorException(String.format("Unsupported sort '%s'", sort));
+        };
+
+        String next = null;
+        if (list.size() > size) {
+            list = list.subList(0, size);
+            Category last = list.get(size - 1);
+            next = Cursor.encode(sort, sort.equals("name") ? last.getName() : null, last.getId());
+        }
+        return new CursorPageDto<>(list.stream().map(x -> new CategoryDto(x)).toList(), size, next);
     }
 
     @Override
@@ -40,12 +90,59 @@ public class CategoryServiceImpl implements CategoryService {
         return new CategoryDto(entity);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public ResourceVersionDto findVersion(Long id) {
+        return repository.findVersionById(id)
+                .map(ResourceVersionDto::new)
+                .orElseThrow(() -> new ResourceNotFoundException("Entity not found"));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ResourceVersionDto findPageVersion(Pageable pageable, boolean count) {
+        LongSupplier total = count ? countCache.prefetch(CountCache.CATEGORIES, repository::count) : null;
+        Slice<ResourceVersionProjection> slice = repository.findVersions(pageable);
+        return ResourceVersionDto.of(slice, total == null ? null : total.getAsLong(), null);
+    }
+
+    /*
+    Usados para preencher o SerializedResponseCache: o DTO e a versao saem da mesma leitura.
+    */
+    @Override
+    @Transactional(readOnly = true)
+    public VersionedDto<CategoryDto> findVersionedById(Long id) {
+        Category entity = repository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Entity not found"));
+        Instant lastModified = entity.getUpdatedAt() != null ? entity.getUpdatedAt() : entity.getCreatedAt();
+        return new VersionedDto<>(new CategoryDto(entity),
+                new ResourceVersionDto(entity.getId(), null, lastModified));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public VersionedDto<Slice<CategoryDto>> findVersionedPage(Pageable pageable, boolean count) {
+        LongSupplier total = count ? countCache.prefetch(CountCache.CATEGORIES, repository::count) : null;
+        Slice<Category> slice = repository.findSlice(pageable);
+        List<ResourceVersionDto> items = slice.map(x -> new ResourceVersionDto(x.getId(), null,
+                x.getUpdatedAt() != null ? x.getUpdatedAt() : x.getCreatedAt())).getContent();
+        List<CategoryDto> dtos = slice.map(x -> new CategoryDto(x)).getContent();
+
+        Long totalCount = total == null ? null : total.getAsLong();
+        ResourceVersionDto version = ResourceVersionDto.of(items, slice.hasNext(), totalCount, null);
+        Slice<CategoryDto> page = count ? PageableExecutionUtils.getPage(dtos, pageable, () -> totalCount)
+                : new SliceImpl<>(dtos, pageable, slice.hasNext());
+        return new VersionedDto<>(page, version);
+    }
+
     @Override
     @Transactional
     public CategoryDto insert(CategoryDto dto) {
         Category entity = new Category();
         entity.setName(dto.getName());
         entity = repository.save(entity);
+        countCache.add(CountCache.CATEGORIES, 1);
+        responseCache.evictAll(SerializedResponseCache.CATEGORY_PAGES);
         return new CategoryDto(entity);
     }
 
@@ -56,6 +153,9 @@ public class CategoryServiceImpl implements CategoryService {
             Category entity = repository.getReferenceById(id);
             entity.setName(dto.getName());
             entity = repository.save(entity);
+            responseCache.evict(SerializedResponseCache.CATEGORIES, id);
+            responseCache.evictAll(SerializedResponseCache.CATEGORY_PAGES);
+            responseCache.evictAll(SerializedResponseCache.PRODUCT_PAGES);
             return new CategoryDto(entity);
         } catch (EntityNotFoundException e) {
             throw new ResourceNotFoundException(String.format("ID '%d' not found", id));
@@ -69,6 +169,9 @@ public class CategoryServiceImpl implements CategoryService {
         }
         try {
             repository.deleteById(id);
+            countCache.add(CountCache.CATEGORIES, -1);
+            responseCache.evict(SerializedResponseCache.CATEGORIES, id);
+            responseCache.evictAll(SerializedResponseCache.CATEGORY_PAGES);
         } catch (DataIntegrityViolationException e) {
             throw new DatabaseException(String.format("Unable to delete resource with 'id=%d'. " +
                     "The resource is associated with other entities", id));
@@ -0,0 +1,80 @@
+package com.sirkaue.dscatalog.services.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sirkaue.dscatalog.dto.CategoryDto;
+import com.sirkaue.dscatalog.dto.ProductDto;
+import com.sirkaue.dscatalog.projections.ProductExportProjection;
+import com.sirkaue.dscatalog.repositories.ProductRepository;
+import com.sirkaue.dscatalog.services.ProductExportService;
+import com.sirkaue.dscatalog.services.io.DataFormat;
+import com.sirkaue.dscatalog.services.io.ProductRecordWriter;
+import io.micrometer.core.annotation.Timed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+@Service
+@Timed("dscatalog.service")
+public class ProductExportServiceImpl implements ProductExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductExportServiceImpl.class);
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final ProductRepository repository;
+    private final ObjectMapper objectMapper;
+
+    public ProductExportServiceImpl(ProductRepository repository, ObjectMapper objectMapper) {
+        this.repository = repository;
+        this.objectMapper = objectMapper;
+    }
+
+    /*
+    Percorre o catalogo com um unico cursor do banco, ordenado por id, e escreve cada produto assim que a ultima
+    linha dele (uma por categoria) e lida. As linhas sao projecoes, nao entidades, entao nada fica preso no contexto
+    de persistencia. Quando o cliente le devagar a escrita no OutputStream bloqueia e a leitura do cursor tambem para.
+    */
+    @Override
+    @Transactional(readOnly = true)
+    public void export(DataFormat format, OutputStream out) throws IOException {
+        long start = System.currentTimeMillis();
+        long count = 0;
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+        ProductRecordWriter records = ProductRecordWriter.of(format, writer, objectMapper);
+
+        try (Stream<ProductExportProjection> rows = repository.streamAllForExport()) {
+            ProductDto current = null;
+            Iterator<ProductExportProjection> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                ProductExportProjection row = iterator.next();
+                if (current == null || !current.getId().equals(row.getId())) {
+                    if (current != null) {
+                        records.write(current);
+                        count++;
+                    }
+                    current = new ProductDto(row.getId(), row.getName(), row.getDescription(), row.getPrice(),
+                            row.getImgUrl(), row.getDate());
+                }
+                if (row.getCategoryId() != null) {
+                    current.getCategories().add(new CategoryDto(row.getCategoryId(), row.getCategoryName()));
+                }
+            }
+            if (current != null) {
+                records.write(current);
+                count++;
+            }
+        }
+        writer.flush();
+        logger.info("Exported {} products as {} in {} ms", count, format, System.currentTimeMillis() - start);
+    }
+}
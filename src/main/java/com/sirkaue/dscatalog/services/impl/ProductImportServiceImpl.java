@@ -0,0 +1,213 @@
+package com.sirkaue.dscatalog.services.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sirkaue.dscatalog.dto.ImportJobDto;
+import com.sirkaue.dscatalog.dto.ProductBatchItemDto;
+import com.sirkaue.dscatalog.dto.ProductDto;
+import com.sirkaue.dscatalog.entities.ImportJob;
+import com.sirkaue.dscatalog.entities.ImportJobError;
+import com.sirkaue.dscatalog.entities.ImportStatus;
+import com.sirkaue.dscatalog.repositories.ImportJobRepository;
+import com.sirkaue.dscatalog.services.ProductImportService;
+import com.sirkaue.dscatalog.services.ProductService;
+import com.sirkaue.dscatalog.services.exceptions.ResourceNotFoundException;
+import com.sirkaue.dscatalog.services.exceptions.ValidationException;
+import com.sirkaue.dscatalog.services.io.DataFormat;
+import com.sirkaue.dscatalog.services.io.MalformedRecordException;
+import com.sirkaue.dscatalog.services.io.ProductRecordReader;
+import io.micrometer.core.annotation.Timed;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Service
+@Timed("dscatalog.service")
+public class ProductImportServiceImpl implements ProductImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductImportServiceImpl.class);
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final ProductService productService;
+    private final ImportJobRepository jobRepository;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    public ProductImportServiceImpl(ProductService productService, ImportJobRepository jobRepository,
+                                    ObjectMapper objectMapper, Validator validator,
+                                    PlatformTransactionManager transactionManager,
+                                    @Value("${dscatalog.import.chunk-size:500}") int chunkSize) {
+        this.productService = productService;
+        this.jobRepository = jobRepository;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+    }
+
+    /*
+    Le o arquivo registro a registro e grava em chunks de tamanho fixo, cada um na sua propria transacao junto com o
+    checkpoint do job. Assim o contexto de persistencia nunca passa de um chunk e, se a conexao cair no meio, basta
+    reenviar o mesmo arquivo com o jobId: os registros ja processados sao pulados sem serem validados de novo.
+    */
+    @Override
+    public ImportJobDto importProducts(DataFormat format, InputStream in, Long jobId) {
+        ImportJob job = jobId == null
+                ? jobRepository.save(new ImportJob(format.getExtension()))
+                : resume(jobId, format);
+        long start = System.currentTimeMillis();
+        ProductRecordReader reader = ProductRecordReader.of(format,
+                new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), BUFFER_SIZE), objectMapper);
+
+        try {
+            long row = 0;
+            while (row < job.getProcessedRows() && reader.skip()) {
+                row++;
+            }
+
+            Chunk chunk = new Chunk();
+            while (true) {
+                try {
+                    ProductDto dto = reader.read();
+                    if (dto == null) {
+                        break;
+                    }
+                    row++;
+                    String error = validate(dto);
+                    if (error == null) {
+                        chunk.add(row, dto);
+                    } else {
+                        chunk.reject(row, error);
+                    }
+                } catch (MalformedRecordException e) {
+                    chunk.reject(++row, e.getMessage());
+                }
+                if (chunk.size() >= chunkSize) {
+                    job = commit(job.getId(), chunk);
+                    chunk = new Chunk();
+                }
+            }
+            job = commit(job.getId(), chunk);
+            job = finish(job.getId(), ImportStatus.COMPLETED, null);
+            logger.info("Import job {} completed: {} imported, {} rejected in {} ms", job.getId(),
+                    job.getImportedRows(), job.getRejectedRows(), System.currentTimeMillis() - start);
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Import job {} stopped after {} rows: {}", job.getId(), job.getProcessedRows(), e.getMessage());
+            job = finish(job.getId(), ImportStatus.FAILED, e.getMessage());
+        }
+        return new ImportJobDto(job);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ImportJobDto findJob(Long jobId) {
+        ImportJob job = jobRepository.findById(jobId)
+                .orElseThrow(() -> new ResourceNotFoundException("Entity not found"));
+        return new ImportJobDto(job, job.getErrors());
+    }
+
+    private String validate(ProductDto dto) {
+        Set<ConstraintViolation<ProductDto>> violations = validator.validate(dto);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    /*
+    So um reenvio retoma o job: ele passa de FAILED para RUNNING num UPDATE condicional, e quem nao conseguir trocar
+    o status (job ainda em andamento ou retomado por outra requisicao) e recusado antes de ler o arquivo.
+    */
+    private ImportJob resume(Long jobId, DataFormat format) {
+        return transactionTemplate.execute(status -> {
+            ImportJob job = jobRepository.findById(jobId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Entity not found"));
+            if (job.getStatus() == ImportStatus.COMPLETED) {
+                throw new ValidationException("jobId", String.format("Import job %d is already completed", jobId));
+            }
+            if (!job.getFormat().equals(format.getExtension())) {
+                throw new ValidationException("format", String.format("Import job %d expects format '%s'",
+                        jobId, job.getFormat()));
+            }
+            if (jobRepository.updateStatus(jobId, ImportStatus.FAILED, ImportStatus.RUNNING) != 1) {
+                throw new ValidationException("jobId", String.format("Import job %d is already running", jobId));
+            }
+            job.setStatus(ImportStatus.RUNNING);
+            job.setMessage(null);
+            return job;
+        });
+    }
+
+    private ImportJob commit(Long jobId, Chunk chunk) {
+        return transactionTemplate.execute(status -> {
+            List<ImportJobError> errors = new ArrayList<>(chunk.errors);
+            long imported = 0;
+            if (!chunk.products.isEmpty()) {
+                List<ProductBatchItemDto> results = productService.insertAll(chunk.products);
+                for (int i = 0; i < results.size(); i++) {
+                    ProductBatchItemDto result = results.get(i);
+                    if (ProductBatchItemDto.CREATED.equals(result.getStatus())) {
+                        imported++;
+                    } else {
+                        errors.add(new ImportJobError(chunk.rows.get(i), result.getMessage()));
+                    }
+                }
+            }
+            errors.sort(Comparator.comparing(ImportJobError::getRowNumber));
+            ImportJob job = jobRepository.getReferenceById(jobId);
+            job.advance(chunk.size(), imported, errors);
+            return job;
+        });
+    }
+
+    private ImportJob finish(Long jobId, ImportStatus status, String message) {
+        return transactionTemplate.execute(tx -> {
+            ImportJob job = jobRepository.getReferenceById(jobId);
+            job.setStatus(status);
+            job.setMessage(message);
+            return job;
+        });
+    }
+
+    private static class Chunk {
+
+        private final List<ProductDto> products = new ArrayList<>();
+        private final List<Long> rows = new ArrayList<>();
+        private final List<ImportJobError> errors = new ArrayList<>();
+
+        void add(long row, ProductDto dto) {
+            products.add(dto);
+            rows.add(row);
+        }
+
+        void reject(long row, String message) {
+            errors.add(new ImportJobError(row, message));
+        }
+
+        int size() {
+            return products.size() + errors.size();
+        }
+    }
+}
@@ -1,37 +1,142 @@
 package com.sirkaue.dscatalog.services.impl;
 
 import com.sirkaue.dscatalog.dto.CategoryDto;
+import com.sirkaue.dscatalog.dto.CursorPageDto;
+import com.sirkaue.dscatalog.dto.ProductBatchItemDto;
 import com.sirkaue.dscatalog.dto.ProductDto;
+import com.sirkaue.dscatalog.dto.ProductSummaryDto;
+import com.sirkaue.dscatalog.dto.ResourceVersionDto;
+import com.sirkaue.dscatalog.dto.VersionedDto;
 import com.sirkaue.dscatalog.entities.Category;
 import com.sirkaue.dscatalog.entities.Product;
+import com.sirkaue.dscatalog.projections.ProductCategoryProjection;
+import com.sirkaue.dscatalog.projections.ProductSummaryProjection;
+import com.sirkaue.dscatalog.projections.ResourceVersionProjection;
 import com.sirkaue.dscatalog.repositories.CategoryRepository;
 import com.sirkaue.dscatalog.repositories.ProductRepository;
 import com.sirkaue.dscatalog.services.ProductService;
+import com.sirkaue.dscatalog.services.cache.CountCache;
+import com.sirkaue.dscatalog.services.cache.SerializedResponseCache;
+import com.sirkaue.dscatalog.services.exceptions.DatabaseException;
+import com.sirkaue.dscatalog.services.exceptions.InvalidCursorException;
 import com.sirkaue.dscatalog.services.exceptions.ResourceNotFoundException;
+import com.sirkaue.dscatalog.services.exceptions.ValidationException;
+import com.sirkaue.dscatalog.services.search.ProductSearchIndex;
+import com.sirkaue.dscatalog.util.Cursor;
+import com.sirkaue.dscatalog.util.TransactionUtils;
+import com.sirkaue.dscatalog.util.Utils;
+import io.micrometer.core.annotation.Timed;
 import jakarta.persistence.EntityNotFoundException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.LongSupplier;
 
 @Service
+@Timed("dscatalog.service")
 public class ProductServiceImpl implements ProductService {
 
+    private static final int MAX_BULK_DELETE_SIZE = 1000;
+
     private final ProductRepository repository;
     private final CategoryRepository categoryRepository;
+    private final CountCache countCache;
+    private final ProductSearchIndex searchIndex;
+    private final SerializedResponseCache responseCache;
 
-    public ProductServiceImpl(ProductRepository repository, CategoryRepository categoryRepository) {
+    public ProductServiceImpl(ProductRepository repository, CategoryRepository categoryRepository,
+                              CountCache countCache, ProductSearchIndex searchIndex,
+                              SerializedResponseCache responseCache) {
         this.repository = repository;
         this.categoryRepository = categoryRepository;
+        this.countCache = countCache;
+        this.searchIndex = searchIndex;
+        this.responseCache = responseCache;
     }
 
     @Override
     @Transactional(readOnly = true)
     public Page<ProductDto> findAllPaged(Pageable pageable) {
-        Page<Product> list = repository.findAll(pageable);
-        return list.map(entity -> new ProductDto(entity, entity.getCategories()));
+        LongSupplier total = countCache.prefetch(CountCache.PRODUCTS, repository::count);
+        Slice<Long> slice = repository.findProductIds(pageable);
+        List<ProductDto> dtos = findWithCategories(slice.getContent());
+        return PageableExecutionUtils.getPage(dtos, pageable, total);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Slice<ProductDto> findAllSliced(Pageable pageable) {
+        Slice<Long> slice = repository.findProductIds(pageable);
+        return new SliceImpl<>(findWithCategories(slice.getContent()), pageable, slice.hasNext());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<ProductSummaryDto> findAllSummaryPaged(Pageable pageable) {
+        LongSupplier total = countCache.prefetch(CountCache.PRODUCTS, repository::count);
+        Slice<ProductSummaryProjection> slice = repository.findSummaries(pageable);
+        return PageableExecutionUtils.getPage(toSummaries(slice.getContent()), pageable, total);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Slice<ProductSummaryDto> findAllSummarySliced(Pageable pageable) {
+        Slice<ProductSummaryProjection> slice = repository.findSummaries(pageable);
+        return new SliceImpl<>(toSummaries(slice.getContent()), pageable, slice.hasNext());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<ProductDto> search(String query, Pageable pageable) {
+        List<Long> ranked = searchIndex.search(query);
+        int from = (int) Math.min(pageable.getOffset(), ranked.size());
+        int to = Math.min(from + pageable.getPageSize(), ranked.size());
+        List<ProductDto> dtos = findWithCategories(ranked.subList(from, to));
+        return new PageImpl<>(dtos, pageable, ranked.size());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDto<ProductDto> findAllByCursor(String after, int size, String sort) {
+        Cursor cursor = Cursor.decode(after, sort);
+        Limit limit = Limit.of(size + 1);
+        List<Long> ids = switch (cursor.getSort()) {
+            case "id" -> repository.findIdsAfterId(cursor.getId(), limit);
+            case "name" -> repository.findIdsAfterName(cursor.getKey(), cursor.getId(), limit);
+            default -> throw new InvalidCursorException(String.format("Unsupported sort '%s'", sort));
+        };
+
+        boolean hasNext = ids.size() > size;
+        if (hasNext) {
+            ids = ids.subList(0, size);
+        }
+        List<ProductDto> dtos = findWithCategories(ids);
+
+        String next = null;
+        if (hasNext && !dtos.isEmpty()) {
+            ProductDto last = dtos.get(dtos.size() - 1);
+            next = Cursor.encode(sort, sort.equals("name") ? last.getName() : null, last.getId());
+        }
+        return new CursorPageDto<>(dtos, size, next);
     }
 
     @Override
@@ -42,15 +147,98 @@ public class ProductServiceImpl implements ProductService {
         return new ProductDto(entity);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public ResourceVersionDto findVersion(Long id) {
+        return repository.findVersionById(id)
+                .map(ResourceVersionDto::new)
+                .orElseThrow(() -> new ResourceNotFoundException("Entity not found"));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ResourceVersionDto findPageVersion(Pageable pageable, boolean count) {
+        LongSupplier total = count ? countCache.prefetch(CountCache.PRODUCTS, repository::count) : null;
+        Slice<ResourceVersionProjection> slice = repository.findVersions(pageable);
+        Instant categoriesLastModified = categoryRepository.findLastModified();
+        return ResourceVersionDto.of(slice, total == null ? null : total.getAsLong(), categoriesLastModified);
+    }
+
+    /*
+    Usados para preencher o SerializedResponseCache: o DTO e a versao saem da mesma leitura. Na pagina, a consulta
+    de versoes tambem da os ids, e as versoes dos itens vem das entidades carregadas.
+    */
+    @Override
+    @Transactional(readOnly = true)
+    public VersionedDto<ProductDto> findVersionedById(Long id) {
+        Product entity = repository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Entity not found"));
+        return new VersionedDto<>(new ProductDto(entity),
+                new ResourceVersionDto(entity.getId(), entity.getVersion(), entity.getUpdatedAt()));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public VersionedDto<Slice<ProductDto>> findVersionedPage(Pageable pageable, boolean count) {
+        LongSupplier total = count ? countCache.prefetch(CountCache.PRODUCTS, repository::count) : null;
+        Slice<ResourceVersionProjection> slice = repository.findVersions(pageable);
+        List<Long> ids = slice.map(ResourceVersionProjection::getId).getContent();
+        List<Product> entities = Utils.orderByIds(ids, repository.searchProductsWithCategories(ids), Product::getId);
+        List<ResourceVersionDto> items = entities.stream()
+                .map(p -> new ResourceVersionDto(p.getId(), p.getVersion(), p.getUpdatedAt()))
+                .toList();
+        List<ProductDto> dtos = entities.stream().map(p -> new ProductDto(p, p.getCategories())).toList();
+
+        Long totalCount = total == null ? null : total.getAsLong();
+        ResourceVersionDto version = ResourceVersionDto.of(items, slice.hasNext(), totalCount,
+                categoryRepository.findLastModified());
+        Slice<ProductDto> page = count ? PageableExecutionUtils.getPage(dtos, pageable, () -> totalCount)
+                : new SliceImpl<>(dtos, pageable, slice.hasNext());
+        return new VersionedDto<>(page, version);
+    }
+
     @Override
     @Transactional
     public ProductDto insert(ProductDto dto) {
         Product entity = new Product();
         copyDtoToEntity(dto, entity);
         entity = repository.save(entity);
+        countCache.add(CountCache.PRODUCTS, 1);
+        responseCache.evictAll(SerializedResponseCache.PRODUCT_PAGES);
+        indexAfterCommit(entity);
         return new ProductDto(entity, entity.getCategories());
     }
 
+    @Override
+    @Transactional
+    public List<ProductBatchItemDto> insertAll(List<ProductDto> dtos) {
+        Map<Long, Category> categories = loadCategories(dtos);
+        ProductBatchItemDto[] results = new ProductBatchItemDto[dtos.size()];
+        Map<Integer, Product> entities = new LinkedHashMap<>();
+
+        for (int i = 0; i < dtos.size(); i++) {
+            ProductDto dto = dtos.get(i);
+            try {
+                Product entity = new Product();
+                copyDtoToEntity(dto, entity, resolveCategories(dto.getCategories(), categories));
+                entities.put(i, entity);
+            } catch (ValidationException e) {
+                results[i] = ProductBatchItemDto.rejected(i, e.getMessage());
+            }
+        }
+
+        repository.saveAll(entities.values());
+        entities.forEach((i, entity) -> {
+            results[i] = ProductBatchItemDto.created(i, entity.getId());
+            indexAfterCommit(entity);
+        });
+        countCache.add(CountCache.PRODUCTS, entities.size());
+        if (!entities.isEmpty()) {
+            responseCache.evictAll(SerializedResponseCache.PRODUCT_PAGES);
+        }
+        return Arrays.asList(results);
+    }
+
     @Override
     @Transactional
     public ProductDto update(Long id, ProductDto dto) {
@@ -58,6 +246,9 @@ public class ProductServiceImpl implements ProductService {
             Product entity = repository.getReferenceById(id);
             copyDtoToEntity(dto, entity);
             entity = repository.save(entity);
+            responseCache.evict(SerializedResponseCache.PRODUCTS, id);
+            responseCache.evictAll(SerializedResponseCache.PRODUCT_PAGES);
+            indexAfterCommit(entity);
             return new ProductDto(entity, entity.getCategories());
         } catch (EntityNotFoundException e) {
             throw new ResourceNotFoundException(String.format("ID '%d' not found", id));
@@ -65,14 +256,80 @@ public class ProductServiceImpl implements ProductService {
     }
 
     @Override
+    @Transactional
     public void delete(Long id) {
-        if (!repository.existsById(id)) {
+        if (deleteByIds(List.of(id)) == 0) {
             throw new ResourceNotFoundException(String.format("Resource with 'id=%d' not found", id));
         }
-        repository.deleteById(id);
+    }
+
+    @Override
+    @Transactional
+    public void deleteAll(List<Long> ids) {
+        Set<Long> distinct = new LinkedHashSet<>(ids);
+        if (distinct.size() > MAX_BULK_DELETE_SIZE) {
+            throw new ValidationException("ids", String.format("At most %d ids per request", MAX_BULK_DELETE_SIZE));
+        }
+        if (distinct.isEmpty()) {
+            return;
+        }
+        deleteByIds(distinct);
+    }
+
+    /*
+    Remove primeiro as linhas de tb_product_category e depois os produtos, com um DELETE para cada tabela e sem
+    carregar as entidades. O numero de linhas afetadas indica quantos produtos existiam de fato.
+    */
+    private int deleteByIds(Collection<Long> ids) {
+        int deleted;
+        try {
+            repository.deleteCategoryLinks(ids);
+            deleted = repository.deleteProducts(ids);
+        } catch (DataIntegrityViolationException e) {
+            throw new DatabaseException("Unable to delete product. The resource is associated with other entities");
+        }
+        if (deleted > 0) {
+            countCache.add(CountCache.PRODUCTS, -deleted);
+            ids.forEach(id -> responseCache.evict(SerializedResponseCache.PRODUCTS, id));
+            responseCache.evictAll(SerializedResponseCache.PRODUCT_PAGES);
+            TransactionUtils.afterCommit(() -> ids.forEach(searchIndex::remove));
+        }
+        return deleted;
+    }
+
+    private void indexAfterCommit(Product entity) {
+        Long id = entity.getId();
+        String name = entity.getName();
+        String description = entity.getDescription();
+        TransactionUtils.afterCommit(() -> searchIndex.index(id, name, description));
+    }
+
+    private List<ProductSummaryDto> toSummaries(List<ProductSummaryProjection> projections) {
+        Map<Long, ProductSummaryDto> map = new LinkedHashMap<>();
+        for (ProductSummaryProjection projection : projections) {
+            map.put(projection.getId(), new ProductSummaryDto(projection));
+        }
+        if (!map.isEmpty()) {
+            List<ProductCategoryProjection> links = repository.findCategoriesByProductIds(List.copyOf(map.keySet()));
+            for (ProductCategoryProjection link : links) {
+                CategoryDto category = new CategoryDto(link.getCategoryId(), link.getCategoryName());
+                map.get(link.getProductId()).getCategories().add(category);
+            }
+        }
+        return List.copyOf(map.values());
+    }
+
+    private List<ProductDto> findWithCategories(List<Long> ids) {
+        List<Product> entities = repository.searchProductsWithCategories(ids);
+        entities = Utils.orderByIds(ids, entities, Product::getId);
+        return entities.stream().map(p -> new ProductDto(p, p.getCategories())).toList();
     }
 
     private void copyDtoToEntity(ProductDto dto, Product entity) {
+        copyDtoToEntity(dto, entity, resolveCategories(dto.getCategories(), loadCategories(List.of(dto))));
+    }
+
+    private void copyDtoToEntity(ProductDto dto, Product entity, Collection<Category> categories) {
         entity.setName(dto.getName());
         entity.setDescription(dto.getDescription());
         entity.setPrice(dto.getPrice());
@@ -80,9 +337,49 @@ public class ProductServiceImpl implements ProductService {
         entity.setDate(dto.getDate());
 
         entity.getCategories().clear();
-        for (CategoryDto categoryDto : dto.getCategories()) {
-            Category category = categoryRepository.getReferenceById(categoryDto.getId());
-            entity.getCategories().add(category);
+        entity.getCategories().addAll(categories);
+    }
+
+    /*
+    Busca todas as categorias referenciadas pelos produtos em uma unica consulta IN. As entidades carregadas sao
+    reaproveitadas na resposta, sem novos lazy loads.
+    */
+    private Map<Long, Category> loadCategories(List<ProductDto> dtos) {
+        Set<Long> ids = new HashSet<>();
+        for (ProductDto dto : dtos) {
+            for (CategoryDto categoryDto : dto.getCategories()) {
+                if (categoryDto.getId() != null) {
+                    ids.add(categoryDto.getId());
+                }
+            }
+        }
+        Map<Long, Category> map = new HashMap<>();
+        if (!ids.isEmpty()) {
+            categoryRepository.findAllById(ids).forEach(c -> map.put(c.getId(), c));
+        }
+        return map;
+    }
+
+    /*
+    Ids inexistentes sao reportados como erro de validacao (422) em vez de estourar no flush.
+    */
+    private Set<Category> resolveCategories(List<CategoryDto> categoryDtos, Map<Long, Category> categories) {
+        Set<Category> result = new LinkedHashSet<>();
+        Set<Long> missing = new LinkedHashSet<>();
+        for (CategoryDto categoryDto : categoryDtos) {
+            if (categoryDto.getId() == null) {
+                throw new ValidationException("categories", "Category id is required");
+            }
+            Category category = categories.get(categoryDto.getId());
+            if (category == null) {
+                missing.add(categoryDto.getId());
+            } else {
+                result.add(category);
+            }
+        }
+        if (!missing.isEmpty()) {
+            throw new ValidationException("categories", String.format("Categories not found: %s", missing));
         }
+        return result;
     }
 }
@@ -1,5 +1,7 @@
 package com.sirkaue.dscatalog.services.impl;
 
+import com.sirkaue.dscatalog.config.ReplicaDataSource;
+import com.sirkaue.dscatalog.dto.CursorPageDto;
 import com.sirkaue.dscatalog.dto.RoleDto;
 import com.sirkaue.dscatalog.dto.UserDto;
 import com.sirkaue.dscatalog.dto.UserInsertDto;
@@ -9,46 +11,101 @@ import com.sirkaue.dscatalog.entities.User;
 import com.sirkaue.dscatalog.repositories.RoleRepository;
 import com.sirkaue.dscatalog.repositories.UserRepository;
 import com.sirkaue.dscatalog.services.UserService;
+import com.sirkaue.dscatalog.services.cache.CountCache;
+import com.sirkaue.dscatalog.services.cache.KnownEmails;
+import com.sirkaue.dscatalog.services.cache.UserDetailsCache;
 import com.sirkaue.dscatalog.services.exceptions.DatabaseException;
+import com.sirkaue.dscatalog.services.exceptions.InvalidCursorException;
 import com.sirkaue.dscatalog.services.exceptions.ResourceNotFoundException;
+import com.sirkaue.dscatalog.services.exceptions.ValidationException;
+import com.sirkaue.dscatalog.util.Cursor;
+import io.micrometer.core.annotation.Timed;
 import jakarta.persistence.EntityNotFoundException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.function.LongSupplier;
 
 @Service
-public class UserServiceImpl implements UserService {
+@Timed("dscatalog.service")
+public class UserServiceImpl implements UserService, UserDetailsPasswordService {
 
     private static final Logger logger = LoggerFactory.getLogger(UserServiceImpl.class);
 
     private final UserRepository repository;
     private final RoleRepository roleRepository;
     private final PasswordEncoder passwordEncoder;
-
-    public UserServiceImpl(UserRepository repository, RoleRepository roleRepository, PasswordEncoder passwordEncoder) {
+    private final CountCache countCache;
+    private final UserDetailsCache userDetailsCache;
+    private final KnownEmails knownEmails;
+    private final TransactionTemplate transactionTemplate;
+
+    public UserServiceImpl(UserRepository repository, RoleRepository roleRepository, PasswordEncoder passwordEncoder,
+                           CountCache countCache, UserDetailsCache userDetailsCache, KnownEmails knownEmails,
+                           PlatformTransactionManager transactionManager) {
         this.repository = repository;
         this.roleRepository = roleRepository;
         this.passwordEncoder = passwordEncoder;
+        this.countCache = countCache;
+        this.userDetailsCache = userDetailsCache;
+        this.knownEmails = knownEmails;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
     @Override
     @Transactional(readOnly = true)
     public Page<UserDto> findAllPaged(Pageable pageable) {
-        Page<User> list = repository.findAll(pageable);
+        LongSupplier total = countCache.prefetch(CountCache.USERS, repository::count);
+        Slice<User> list = repository.findSlice(pageable);
+        List<UserDto> listDto = list.map(entity -> new UserDto(entity)).getContent();
+        return PageableExecutionUtils.getPage(listDto, pageable, total);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Slice<UserDto> findAllSliced(Pageable pageable) {
+        Slice<User> list = repository.findSlice(pageable);
         return list.map(entity -> new UserDto(entity));
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDto<UserDto> findAllByCursor(String after, int size, String sort) {
+        Cursor cursor = Cursor.decode(after, sort);
+        Limit limit = Limit.of(size + 1);
+        List<User> list = switch (cursor.getSort()) {
+            case "id" -> repository.findAfterId(cursor.getId(), limit);
+            case "email" -> repository.findAfterEmail(cursor.getKey(), cursor.getId(), limit);
+            default -> throw new InvalidCursorException(String.format("Unsupported sort '%s'", sort));
+        };
+
+        String next = null;
+        if (list.size() > size) {
+            list = list.subList(0, size);
+            User last = list.get(size - 1);
+            next = Cursor.encode(sort, sort.equals("email") ? last.getEmail() : null, last.getId());
+        }
+        return new CursorPageDto<>(list.stream().map(entity -> new UserDto(entity)).toList(), size, next);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public UserDto findById(Long id) {
@@ -57,37 +114,61 @@ public class UserServiceImpl implements UserService {
         return new UserDto(entity);
     }
 
+    /*
+    O hash da senha e calculado antes de abrir a transacao, para nao segurar uma conexao do pool enquanto o BCrypt
+    ocupa a CPU. Um email repetido que passou pelo validador (gravado por outra instancia ou ao mesmo tempo) e
+    barrado pela constraint unica (veja emailConflict).
+    */
     @Override
-    @Transactional
     public UserDto insert(UserInsertDto dto) {
-        User entity = new User();
-        copyDtoToEntity(dto, entity);
-        entity.setPassword(passwordEncoder.encode(dto.getPassword()));
-        entity = repository.save(entity);
-        return new UserDto(entity);
+        String password = passwordEncoder.encode(dto.getPassword());
+        knownEmails.add(dto.getEmail());
+        try {
+            return transactionTemplate.execute(status -> {
+                User entity = new User();
+                copyDtoToEntity(dto, entity);
+                entity.setPassword(password);
+                entity = repository.saveAndFlush(entity);
+                countCache.add(CountCache.USERS, 1);
+                return new UserDto(entity);
+            });
+        } catch (DataIntegrityViolationException e) {
+            throw emailConflict(dto.getEmail(), null, e);
+        }
     }
 
+    /*
+    O flush acontece dentro do try, como no insert, para que a violacao da constraint unica seja tratada aqui e nao
+    no commit.
+    */
     @Override
-    @Transactional
     public UserDto update(Long id, UserUpdateDto dto) {
         try {
-            User entity = repository.getReferenceById(id);
-            copyDtoToEntity(dto, entity);
-            entity = repository.save(entity);
-            return new UserDto(entity);
+            return transactionTemplate.execute(status -> {
+                User entity = repository.getReferenceById(id);
+                userDetailsCache.evict(entity.getEmail());
+                knownEmails.add(dto.getEmail());
+                copyDtoToEntity(dto, entity);
+                entity = repository.saveAndFlush(entity);
+                userDetailsCache.evict(entity.getEmail());
+                return new UserDto(entity);
+            });
         } catch (EntityNotFoundException e) {
             throw new ResourceNotFoundException(String.format("ID %s not found", id));
+        } catch (DataIntegrityViolationException e) {
+            throw emailConflict(dto.getEmail(), id, e);
         }
     }
 
     @Override
     @Transactional
     public void delete(Long id) {
-        if (!repository.existsById(id)) {
-            throw new ResourceNotFoundException("Id not found" + id);
-        }
+        String email = repository.findEmailById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Id not found" + id));
         try {
             repository.deleteById(id);
+            userDetailsCache.evict(email);
+            countCache.add(CountCache.USERS, -1);
         } catch (EmptyResultDataAccessException e) {
             throw new ResourceNotFoundException(String.format("Id %s not found", id));
         } catch (DataIntegrityViolationException e) {
@@ -98,14 +179,57 @@ public class UserServiceImpl implements UserService {
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
+        return userDetailsCache.get(username, this::findUserDetails);
+    }
+
+    /*
+    Chamado pelo DaoAuthenticationProvider depois de um login valido cujo hash tem custo menor que o configurado: a
+    senha ja foi refeita com o custo atual e so precisa ser gravada.
+    */
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        User entity = repository.findByEmail(user.getUsername());
+        if (entity == null) {
+            throw new UsernameNotFoundException("Email not found");
+        }
+        entity.setPassword(newPassword);
+        userDetailsCache.evict(entity.getEmail());
+        return org.springframework.security.core.userdetails.User.withUserDetails(user)
+                .password(newPassword)
+                .build();
+    }
 
+    /*
+    Chamado so quando o email nao esta no cache. Os perfis sao copiados para um UserDetails imutavel, que nao
+    depende da sessao do Hibernate e pode ser compartilhado entre threads.
+    */
+    private UserDetails findUserDetails(String username) {
         User user = repository.findByEmail(username);
         if (user == null) {
             logger.error("User not found: {}", username);
             throw new UsernameNotFoundException("Email not found");
         }
-        logger.info("User found: {}", username);
-        return user;
+        logger.debug("User found: {}", username);
+        return org.springframework.security.core.userdetails.User.withUsername(user.getEmail())
+                .password(user.getPassword())
+                .authorities(user.getRoles().stream()
+                        .map(role -> new SimpleGrantedAuthority(role.getAuthority()))
+                        .toList())
+                .build();
+    }
+
+    /*
+    A violacao pode ser de outra constraint (ex.: perfil inexistente em tb_user_role); so vira erro de validacao do
+    email quando outro usuario ja tem esse email. A consulta vai ao primario, onde esta o registro que causou o
+    conflito.
+    */
+    private RuntimeException emailConflict(String email, Long id, DataIntegrityViolationException e) {
+        Optional<Long> owner = ReplicaDataSource.onPrimary(() -> repository.findIdByEmail(email));
+        if (owner.isPresent() && !owner.get().equals(id)) {
+            return new ValidationException("email", "Email já existe");
+        }
+        return e;
     }
 
     private void copyDtoToEntity(UserDto dto, User entity) {
@@ -0,0 +1,142 @@
+package com.sirkaue.dscatalog.services.io;
+
+import com.sirkaue.dscatalog.dto.CategoryDto;
+import com.sirkaue.dscatalog.dto.ProductDto;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/*
+Le o mesmo layout gerado pelo CsvProductRecordWriter (RFC 4180, primeira linha com os nomes das colunas). As
+colunas sao localizadas pelo cabecalho, entao a ordem e colunas extras nao importam; id e categoryNames sao
+ignorados.
+*/
+public class CsvProductRecordReader implements ProductRecordReader {
+
+    private static final Pattern LIST_SEPARATOR = Pattern.compile(Pattern.quote(CsvProductRecordWriter.LIST_SEPARATOR));
+
+    private final BufferedReader reader;
+    private Map<String, Integer> columns;
+
+    public CsvProductRecordReader(Reader reader) {
+        this.reader = reader instanceof BufferedReader buffered ? buffered : new BufferedReader(reader);
+    }
+
+    @Override
+    public ProductDto read() throws IOException {
+        List<String> row = nextRow();
+        if (row == null) {
+            return null;
+        }
+        try {
+            ProductDto dto = new ProductDto(null, value(row, "name"), value(row, "description"),
+                    parseDouble(value(row, "price")), value(row, "imgUrl"), parseInstant(value(row, "date")));
+            String categoryIds = value(row, "categoryIds");
+            if (categoryIds != null) {
+                for (String id : LIST_SEPARATOR.split(categoryIds)) {
+                    if (!id.isBlank()) {
+                        dto.getCategories().add(new CategoryDto(Long.parseLong(id.trim()), null));
+                    }
+                }
+            }
+            return dto;
+        } catch (RuntimeException e) {
+            throw new MalformedRecordException("Invalid value: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public boolean skip() throws IOException {
+        return nextRow() != null;
+    }
+
+    private List<String> nextRow() throws IOException {
+        if (columns == null) {
+            List<String> header = readRow();
+            if (header == null) {
+                return null;
+            }
+            columns = new HashMap<>();
+            for (int i = 0; i < header.size(); i++) {
+                columns.put(header.get(i).trim(), i);
+            }
+        }
+        return readRow();
+    }
+
+    private String value(List<String> row, String column) {
+        Integer index = columns.get(column);
+        if (index == null || index >= row.size() || row.get(index).isEmpty()) {
+            return null;
+        }
+        return row.get(index);
+    }
+
+    private static Double parseDouble(String value) {
+        return value == null ? null : Double.valueOf(value);
+    }
+
+    private static Instant parseInstant(String value) {
+        return value == null ? null : Instant.parse(value);
+    }
+
+    /*
+    Le uma linha logica do CSV, que pode ocupar varias linhas fisicas quando um campo entre aspas contem quebras
+    de linha. Linhas vazias sao ignoradas. Devolve null no fim do arquivo.
+    */
+    private List<String> readRow() throws IOException {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean empty = true;
+        int c;
+        while ((c = reader.read()) != -1) {
+            if (quoted) {
+                if (c == '"') {
+                    reader.mark(1);
+                    if (reader.read() == '"') {
+                        field.append('"');
+                    } else {
+                        reader.reset();
+                        quoted = false;
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+                empty = false;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+                empty = false;
+            } else if (c == '\n' || c == '\r') {
+                if (c == '\r') {
+                    reader.mark(1);
+                    if (reader.read() != '\n') {
+                        reader.reset();
+                    }
+                }
+                if (!empty) {
+                    fields.add(field.toString());
+                    return fields;
+                }
+            } else {
+                field.append((char) c);
+                empty = false;
+            }
+        }
+        if (empty) {
+            return null;
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
@@ -0,0 +1,59 @@
+package com.sirkaue.dscatalog.services.io;
+
+import com.sirkaue.dscatalog.dto.CategoryDto;
+import com.sirkaue.dscatalog.dto.ProductDto;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.stream.Collectors;
+
+/*
+CSV no formato RFC 4180. As categorias de cada produto vao em duas colunas, com ids e nomes separados por '|'.
+*/
+public class CsvProductRecordWriter implements ProductRecordWriter {
+
+    public static final String[] HEADER =
+            {"id", "name", "description", "price", "imgUrl", "date", "categoryIds", "categoryNames"};
+    public static final String LIST_SEPARATOR = "|";
+
+    private final Writer writer;
+    private boolean headerWritten;
+
+    public CsvProductRecordWriter(Writer writer) {
+        this.writer = writer;
+    }
+
+    @Override
+    public void write(ProductDto dto) throws IOException {
+        if (!headerWritten) {
+            writeLine((Object[]) HEADER);
+            headerWritten = true;
+        }
+        writeLine(dto.getId(), dto.getName(), dto.getDescription(), dto.getPrice(), dto.getImgUrl(), dto.getDate(),
+                dto.getCategories().stream().map(c -> String.valueOf(c.getId()))
+                        .collect(Collectors.joining(LIST_SEPARATOR)),
+                dto.getCategories().stream().map(CategoryDto::getName)
+                        .collect(Collectors.joining(LIST_SEPARATOR)));
+    }
+
+    private void writeLine(Object... values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(escape(values[i]));
+        }
+        writer.write("\r\n");
+    }
+
+    private static String escape(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,8 @@
+package com.sirkaue.dscatalog.services.io;
+
+public class MalformedRecordException extends RuntimeException {
+
+    public MalformedRecordException(String message) {
+        super(message);
+    }
+}
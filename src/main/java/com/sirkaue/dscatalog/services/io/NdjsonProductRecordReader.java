@@ -0,0 +1,46 @@
+package com.sirkaue.dscatalog.services.io;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sirkaue.dscatalog.dto.ProductDto;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+
+public class NdjsonProductRecordReader implements ProductRecordReader {
+
+    private final BufferedReader reader;
+    private final ObjectMapper objectMapper;
+
+    public NdjsonProductRecordReader(Reader reader, ObjectMapper objectMapper) {
+        this.reader = reader instanceof BufferedReader buffered ? buffered : new BufferedReader(reader);
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public ProductDto read() throws IOException {
+        String line = nextLine();
+        if (line == null) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(line, ProductDto.class);
+        } catch (JsonProcessingException e) {
+            throw new MalformedRecordException("Invalid JSON: " + e.getOriginalMessage());
+        }
+    }
+
+    @Override
+    public boolean skip() throws IOException {
+        return nextLine() != null;
+    }
+
+    private String nextLine() throws IOException {
+        String line;
+        do {
+            line = reader.readLine();
+        } while (line != null && line.isBlank());
+        return line;
+    }
+}
@@ -0,0 +1,24 @@
+package com.sirkaue.dscatalog.services.io;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sirkaue.dscatalog.dto.ProductDto;
+
+import java.io.IOException;
+import java.io.Writer;
+
+public class NdjsonProductRecordWriter implements ProductRecordWriter {
+
+    private final Writer writer;
+    private final ObjectMapper objectMapper;
+
+    public NdjsonProductRecordWriter(Writer writer, ObjectMapper objectMapper) {
+        this.writer = writer;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void write(ProductDto dto) throws IOException {
+        writer.write(objectMapper.writeValueAsString(dto));
+        writer.write('\n');
+    }
+}
@@ -0,0 +1,32 @@
+package com.sirkaue.dscatalog.services.io;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sirkaue.dscatalog.dto.ProductDto;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/*
+Le um produto por vez do arquivo enviado, sem carregar o arquivo inteiro. Um registro malformado lanca
+MalformedRecordException depois de ser consumido por completo, entao a leitura pode seguir para o proximo.
+*/
+public interface ProductRecordReader {
+
+    /*
+    Devolve o proximo registro ou null no fim do arquivo.
+    */
+    ProductDto read() throws IOException;
+
+    /*
+    Consome o proximo registro sem interpreta-lo. Usado para pular o que ja foi importado ao retomar um job.
+    Devolve false no fim do arquivo.
+    */
+    boolean skip() throws IOException;
+
+    static ProductRecordReader of(DataFormat format, Reader reader, ObjectMapper objectMapper) {
+        return switch (format) {
+            case NDJSON -> new NdjsonProductRecordReader(reader, objectMapper);
+            case CSV -> new CsvProductRecordReader(reader);
+        };
+    }
+}
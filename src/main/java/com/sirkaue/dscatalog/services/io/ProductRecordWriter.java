@@ -0,0 +1,23 @@
+package com.sirkaue.dscatalog.services.io;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sirkaue.dscatalog.dto.ProductDto;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/*
+Escreve um produto por vez no formato escolhido. Nada e acumulado alem do buffer do Writer, entao a memoria usada
+na exportacao nao depende do tamanho do catalogo.
+*/
+public interface ProductRecordWriter {
+
+    void write(ProductDto dto) throws IOException;
+
+    static ProductRecordWriter of(DataFormat format, Writer writer, ObjectMapper objectMapper) {
+        return switch (format) {
+            case NDJSON -> new NdjsonProductRecordWriter(writer, objectMapper);
+            case CSV -> new CsvProductRecordWriter(writer);
+        };
+    }
+}
@@ -0,0 +1,341 @@
+package com.sirkaue.dscatalog.services.seed;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+/*
+Gera um catalogo sintetico no lugar do import.sql (desligado no profile perf) para investigacoes de desempenho:
+produtos com nomes e descricoes de tamanho variado, categorias com popularidade desigual (Zipf) e usuarios com
+perfis. Tudo sai de um SplittableRandom com semente fixa e as datas sao contadas a partir de um instante fixo
+(dscatalog.seed.epoch), entao a mesma configuracao gera sempre os mesmos dados.
+
+As linhas sao gravadas com JdbcTemplate em lotes, cada lote na sua propria transacao, sem passar pelo contexto de
+persistencia. No MySQL use rewriteBatchedStatements=true na URL para o driver juntar os lotes em um unico INSERT.
+Se a tabela de produtos ja tiver linhas (banco persistente reaproveitado) nada e gerado.
+*/
+@Component
+@Profile("perf")
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class CatalogGenerator implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(CatalogGenerator.class);
+
+    /* Hash BCrypt de "123456", o mesmo do import.sql; gerar um hash por usuario levaria horas. */
+    private static final String PASSWORD = "$2a$10$eACCYoNOHEqXve8aIWT8Nu3PkMXWBaOxJ9aORUYzfMQCbVBIhZ8tG";
+
+    private static final String[] SYLLABLES = {
+            "ba", "be", "bi", "bo", "ca", "ce", "co", "cu", "da", "de", "di", "do", "fa", "fe", "fi", "ga", "go", "la",
+            "le", "li", "lo", "lu", "ma", "me", "mi", "mo", "na", "ne", "no", "pa", "pe", "pi", "po", "ra", "re", "ri",
+            "ro", "sa", "se", "si", "so", "ta", "te", "ti", "to", "va", "ve", "vi", "xa", "za"};
+    private static final String[] FIRST_NAMES = {
+            "Ana", "Bruno", "Carla", "Diego", "Elisa", "Felipe", "Gabriela", "Hugo", "Isabel", "Joao", "Karen", "Lucas",
+            "Marina", "Nicolas", "Olivia", "Paulo", "Rafaela", "Samuel", "Tatiana", "Vitor"};
+    private static final String[] LAST_NAMES = {
+            "Almeida", "Barbosa", "Cardoso", "Costa", "Ferreira", "Gomes", "Lima", "Martins", "Oliveira", "Pereira",
+            "Ribeiro", "Rocha", "Santos", "Silva", "Souza"};
+
+    private static final int VOCABULARY_SIZE = 5000;
+    private static final double WORD_SKEW = 1.0;
+    private static final double CATEGORY_SKEW = 1.1;
+    private static final double EXTRA_CATEGORY_PROBABILITY = 0.35;
+    private static final int MAX_CATEGORIES_PER_PRODUCT = 5;
+    private static final int MAX_NAME_LENGTH = 60;
+    private static final double DESCRIPTION_MEDIAN = 300;
+    private static final double DESCRIPTION_SIGMA = 0.8;
+    private static final double PRICE_MEDIAN = 150;
+    private static final double PRICE_SIGMA = 1.2;
+    private static final double ADMIN_PROBABILITY = 0.05;
+    private static final Duration DATE_RANGE = Duration.ofDays(5 * 365);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final long products;
+    private final int categories;
+    private final int users;
+    private final long seed;
+    private final Instant epoch;
+    private final int batchSize;
+
+    public CatalogGenerator(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                            @Value("${dscatalog.seed.products:1000000}") long products,
+                            @Value("${dscatalog.seed.categories:50}") int categories,
+                            @Value("${dscatalog.seed.users:10000}") int users,
+                            @Value("${dscatalog.seed.seed:42}") long seed,
+                            @Value("${dscatalog.seed.epoch:2024-01-01T00:00:00Z}") String epoch,
+                            @Value("${dscatalog.seed.batch-size:1000}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.products = products;
+        this.categories = categories;
+        this.users = users;
+        this.seed = seed;
+        this.epoch = Instant.parse(epoch);
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        Long existing = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM tb_product", Long.class);
+        if (existing != null && existing > 0) {
+            logger.info("Synthetic catalog skipped: tb_product already has {} rows", existing);
+            return;
+        }
+        long start = System.currentTimeMillis();
+        SplittableRandom random = new SplittableRandom(seed);
+
+        long[] roleIds = insertRoles();
+        long[] categoryIds = insertCategories(random.split());
+        insertUsers(random.split(), roleIds);
+        long links = insertProducts(random.split(), categoryIds);
+        restartProductSequence(products + 1);
+
+        logger.info("Synthetic catalog generated with seed {}: {} products, {} category links, {} categories, " +
+                "{} users in {} ms", seed, products, links, categories, users, System.currentTimeMillis() - start);
+    }
+
+    private long[] insertRoles() {
+        batch("INSERT INTO tb_role (authority) VALUES (?)",
+                List.of(new Object[]{"ROLE_OPERATOR"}, new Object[]{"ROLE_ADMIN"}));
+        return ids("tb_role");
+    }
+
+    private long[] insertCategories(SplittableRandom random) {
+        Vocabulary vocabulary = new Vocabulary(random);
+        List<Object[]> rows = new ArrayList<>(categories);
+        for (int i = 0; i < categories; i++) {
+            String name = capitalize(vocabulary.word(random)) + " " + (i + 1);
+            rows.add(new Object[]{name, Timestamp.from(epoch)});
+        }
+        batch("INSERT INTO tb_category (name, created_at) VALUES (?, ?)", rows);
+        return ids("tb_category");
+    }
+
+    private void insertUsers(SplittableRandom random, long[] roleIds) {
+        List<Object[]> rows = new ArrayList<>(batchSize);
+        for (int i = 1; i <= users; i++) {
+            String firstName = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+            String lastName = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+            String email = (firstName + "." + lastName + "." + i + "@dscatalog.com").toLowerCase(Locale.ROOT);
+            rows.add(new Object[]{firstName, lastName, email, PASSWORD});
+            if (rows.size() == batchSize) {
+                batch("INSERT INTO tb_user (first_name, last_name, email, password) VALUES (?, ?, ?, ?)", rows);
+                rows.clear();
+            }
+        }
+        batch("INSERT INTO tb_user (first_name, last_name, email, password) VALUES (?, ?, ?, ?)", rows);
+        rows.clear();
+
+        for (long userId : ids("tb_user")) {
+            rows.add(new Object[]{userId, roleIds[0]});
+            if (random.nextDouble() < ADMIN_PROBABILITY) {
+                rows.add(new Object[]{userId, roleIds[1]});
+            }
+            if (rows.size() >= batchSize) {
+                batch("INSERT INTO tb_user_role (user_id, role_id) VALUES (?, ?)", rows);
+                rows.clear();
+            }
+        }
+        batch("INSERT INTO tb_user_role (user_id, role_id) VALUES (?, ?)", rows);
+    }
+
+    /*
+    Nomes com 2 a 6 palavras e descricoes com tamanho log-normal (mediana de 300 caracteres e cauda longa), com as
+    palavras sorteadas por Zipf para que o indice de busca tenha termos muito e pouco frequentes. Cada produto tem
+    uma categoria e, com probabilidade decrescente, algumas a mais, sorteadas por Zipf entre as categorias.
+    */
+    private long insertProducts(SplittableRandom random, long[] categoryIds) {
+        Vocabulary vocabulary = new Vocabulary(random);
+        Zipf categoryRank = new Zipf(categoryIds.length, CATEGORY_SKEW);
+        Timestamp updatedAt = Timestamp.from(epoch);
+        long links = 0;
+
+        List<Object[]> productRows = new ArrayList<>(batchSize);
+        List<Object[]> linkRows = new ArrayList<>(batchSize * 2);
+        long[] chosen = new long[MAX_CATEGORIES_PER_PRODUCT];
+        for (long id = 1; id <= products; id++) {
+            String name = truncate(capitalize(vocabulary.text(random, 2 + random.nextInt(5))), MAX_NAME_LENGTH);
+            int descriptionLength = (int) Math.min(Math.max(logNormal(random, DESCRIPTION_MEDIAN, DESCRIPTION_SIGMA),
+                    20), 5000);
+            String description = capitalize(vocabulary.chars(random, descriptionLength)) + ".";
+            double price = (Math.round(logNormal(random, PRICE_MEDIAN, PRICE_SIGMA) * 100) + 1) / 100.0;
+            Timestamp date = Timestamp.from(epoch.minusSeconds(random.nextLong(DATE_RANGE.toSeconds())));
+            String imgUrl = "https://img.dscatalog.com/products/" + id + ".jpg";
+            productRows.add(new Object[]{id, updatedAt, name, description, price, imgUrl, date});
+
+            int count = 1;
+            while (count < Math.min(MAX_CATEGORIES_PER_PRODUCT, categoryIds.length)
+                    && random.nextDouble() < EXTRA_CATEGORY_PROBABILITY) {
+                count++;
+            }
+            int picked = 0;
+            while (picked < count) {
+                long categoryId = categoryIds[categoryRank.next(random)];
+                if (!contains(chosen, picked, categoryId)) {
+                    chosen[picked++] = categoryId;
+                    linkRows.add(new Object[]{id, categoryId});
+                }
+            }
+            links += count;
+
+            if (productRows.size() == batchSize || id == products) {
+                insertProductBatch(productRows, linkRows);
+                productRows.clear();
+                linkRows.clear();
+                if (id % (batchSize * 100L) == 0) {
+                    logger.info("Synthetic catalog: {} of {} products", id, products);
+                }
+            }
+        }
+        return links;
+    }
+
+    private void insertProductBatch(List<Object[]> productRows, List<Object[]> linkRows) {
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.batchUpdate("INSERT INTO tb_product (id, version, updated_at, name, description, price, " +
+                    "img_url, date) VALUES (?, 0, ?, ?, ?, ?, ?, ?)", productRows);
+            jdbcTemplate.batchUpdate("INSERT INTO tb_product_category (product_id, category_id) VALUES (?, ?)",
+                    linkRows);
+        });
+    }
+
+    /*
+    Os ids dos produtos sao atribuidos aqui, entao o gerador de ids do Hibernate precisa continuar depois do ultimo.
+    No MySQL a "sequence" e uma tabela com uma unica coluna next_val.
+    */
+    private void restartProductSequence(long next) {
+        String database = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName());
+        if ("MySQL".equalsIgnoreCase(database) || "MariaDB".equalsIgnoreCase(database)) {
+            jdbcTemplate.update("UPDATE tb_product_seq SET next_val = ?", next);
+        } else {
+            jdbcTemplate.execute("ALTER SEQUENCE tb_product_seq RESTART WITH " + next);
+        }
+    }
+
+    private void batch(String sql, List<Object[]> rows) {
+        if (!rows.isEmpty()) {
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(sql, rows));
+        }
+    }
+
+    private long[] ids(String table) {
+        return jdbcTemplate.queryForList("SELECT id FROM " + table + " ORDER BY id", Long.class).stream()
+                .mapToLong(Long::longValue)
+                .toArray();
+    }
+
+    private static double logNormal(SplittableRandom random, double median, double sigma) {
+        return median * Math.exp(sigma * gaussian(random));
+    }
+
+    /* Box-Muller: SplittableRandom nao tem nextGaussian no Java 17. */
+    private static double gaussian(SplittableRandom random) {
+        double u = 1.0 - random.nextDouble();
+        double v = random.nextDouble();
+        return Math.sqrt(-2.0 * Math.log(u)) * Math.cos(2.0 * Math.PI * v);
+    }
+
+    private static boolean contains(long[] values, int length, long value) {
+        for (int i = 0; i < length; i++) {
+            if (values[i] == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String capitalize(String text) {
+        return text.isEmpty() ? text : Character.toUpperCase(text.charAt(0)) + text.substring(1);
+    }
+
+    private static String truncate(String text, int length) {
+        return text.length() <= length ? text : text.substring(0, length).trim();
+    }
+
+    /* Amostragem de uma distribuicao de Zipf em [0, n) por busca binaria na distribuicao acumulada. */
+    private static class Zipf {
+
+        private final double[] cumulative;
+
+        private Zipf(int n, double skew) {
+            cumulative = new double[n];
+            double sum = 0;
+            for (int k = 0; k < n; k++) {
+                sum += 1.0 / Math.pow(k + 1, skew);
+                cumulative[k] = sum;
+            }
+            for (int k = 0; k < n; k++) {
+                cumulative[k] /= sum;
+            }
+        }
+
+        private int next(SplittableRandom random) {
+            int index = Arrays.binarySearch(cumulative, random.nextDouble());
+            return Math.min(index >= 0 ? index : -index - 1, cumulative.length - 1);
+        }
+    }
+
+    /* Palavras ficticias montadas com silabas, usadas com frequencia de Zipf como em um texto natural. */
+    private static class Vocabulary {
+
+        private final String[] words = new String[VOCABULARY_SIZE];
+        private final Zipf rank = new Zipf(VOCABULARY_SIZE, WORD_SKEW);
+
+        private Vocabulary(SplittableRandom random) {
+            for (int i = 0; i < words.length; i++) {
+                StringBuilder word = new StringBuilder();
+                int syllables = 1 + random.nextInt(4);
+                for (int s = 0; s < syllables; s++) {
+                    word.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+                }
+                words[i] = word.toString();
+            }
+        }
+
+        private String word(SplittableRandom random) {
+            return words[rank.next(random)];
+        }
+
+        private String text(SplittableRandom random, int wordCount) {
+            StringBuilder text = new StringBuilder();
+            for (int i = 0; i < wordCount; i++) {
+                if (i > 0) {
+                    text.append(' ');
+                }
+                text.append(word(random));
+            }
+            return text.toString();
+        }
+
+        private String chars(SplittableRandom random, int length) {
+            StringBuilder text = new StringBuilder(length + 16);
+            while (text.length() < length) {
+                if (!text.isEmpty()) {
+                    text.append(' ');
+                }
+                text.append(word(random));
+            }
+            return text.toString();
+        }
+    }
+}
@@ -1,9 +1,9 @@
 package com.sirkaue.dscatalog.services.validation;
 
 import com.sirkaue.dscatalog.dto.UserInsertDto;
-import com.sirkaue.dscatalog.entities.User;
 import com.sirkaue.dscatalog.repositories.UserRepository;
 import com.sirkaue.dscatalog.resources.exceptions.FieldMessage;
+import com.sirkaue.dscatalog.services.cache.KnownEmails;
 import jakarta.validation.ConstraintValidator;
 import jakarta.validation.ConstraintValidatorContext;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -16,6 +16,9 @@ public class UserInsertValidator implements ConstraintValidator<UserInsertValid,
     @Autowired
     private UserRepository repository;
 
+    @Autowired
+    private KnownEmails knownEmails;
+
     @Override
     public void initialize(UserInsertValid ann) {
     }
@@ -24,9 +27,13 @@ public class UserInsertValidator implements ConstraintValidator<UserInsertValid,
     public boolean isValid(UserInsertDto dto, ConstraintValidatorContext context) {
 
         List<FieldMessage> list = new ArrayList<>();
-        User user = repository.findByEmail(dto.getEmail());
+        boolean exists = false;
+        if (knownEmails.mightExist(dto.getEmail())) {
+            exists = repository.findIdByEmail(dto.getEmail()).isPresent();
+            knownEmails.recordLookup(exists);
+        }
 
-        if (user != null) {
+        if (exists) {
             list.add(new FieldMessage("email", "Email já existe"));
         }
 
@@ -1,9 +1,9 @@
 package com.sirkaue.dscatalog.services.validation;
 
 import com.sirkaue.dscatalog.dto.UserUpdateDto;
-import com.sirkaue.dscatalog.entities.User;
 import com.sirkaue.dscatalog.repositories.UserRepository;
 import com.sirkaue.dscatalog.resources.exceptions.FieldMessage;
+import com.sirkaue.dscatalog.services.cache.KnownEmails;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.ConstraintValidator;
 import jakarta.validation.ConstraintValidatorContext;
@@ -22,6 +22,9 @@ public class UserUpdateValidator implements ConstraintValidator<UserUpdateValid,
     @Autowired
     private UserRepository repository;
 
+    @Autowired
+    private KnownEmails knownEmails;
+
     @Override
     public void initialize(UserUpdateValid ann) {
     }
@@ -34,9 +37,13 @@ public class UserUpdateValidator implements ConstraintValidator<UserUpdateValid,
         long userId = Long.parseLong(uriVars.get("id"));
 
         List<FieldMessage> list = new ArrayList<>();
-        User user = repository.findByEmail(dto.getEmail());
+        Long ownerId = null;
+        if (knownEmails.mightExist(dto.getEmail())) {
+            ownerId = repository.findIdByEmail(dto.getEmail()).orElse(null);
+            knownEmails.recordLookup(ownerId != null);
+        }
 
-        if (user != null && userId != user.getId()) {
+        if (ownerId != null && userId != ownerId) {
             list.add(new FieldMessage("email", "Email já existe"));
         }
 
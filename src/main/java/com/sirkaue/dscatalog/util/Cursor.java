@@ -0,0 +1,69 @@
+package com.sirkaue.dscatalog.util;
+
+import com.sirkaue.dscatalog.services.exceptions.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/*
+Cursor opaco da paginacao por keyset (seek). Guarda a ordenacao usada, o valor da chave de ordenacao e o id do
+ultimo registro devolvido, de forma que a proxima pagina seja buscada com "WHERE (chave, id) > (:chave, :id)"
+em vez de LIMIT/OFFSET.
+*/
+public class Cursor {
+
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private static final String SEPARATOR = "\n";
+
+    private final String sort;
+    private final String key;
+    private final Long id;
+
+    private Cursor(String sort, String key, Long id) {
+        this.sort = sort;
+        this.key = key;
+        this.id = id;
+    }
+
+    public static Cursor first(String sort) {
+        return new Cursor(sort, "", 0L);
+    }
+
+    public static Cursor decode(String token, String sort) {
+        if (token == null || token.isBlank()) {
+            return first(sort);
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = decoded.split(SEPARATOR, 3);
+            if (parts.length != 3 || !parts[0].equals(sort)) {
+                throw new InvalidCursorException(String.format("Cursor does not match sort '%s'", sort));
+            }
+            return new Cursor(parts[0], parts[2], Long.parseLong(parts[1]));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException("Invalid cursor");
+        }
+    }
+
+    public static String encode(String sort, String key, Long id) {
+        String value = sort + SEPARATOR + id + SEPARATOR + (key == null ? "" : key);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static int pageSize(int requested) {
+        return Math.min(Math.max(requested, 1), MAX_PAGE_SIZE);
+    }
+
+    public String getSort() {
+        return sort;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public Long getId() {
+        return id;
+    }
+}
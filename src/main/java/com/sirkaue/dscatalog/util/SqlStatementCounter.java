@@ -0,0 +1,101 @@
+package com.sirkaue.dscatalog.util;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/*
+Conta os comandos SQL executados pela thread corrente. Cada escopo aberto (requisicao HTTP, chamada de servico,
+teste) recebe todos os comandos executados enquanto estiver aberto, inclusive os dos escopos internos. Os SELECTs
+tambem sao agrupados pelo formato do comando (literais trocados por "?" e listas do IN colapsadas), para apontar o
+comando repetido de um N+1. Comandos executados em outras threads, como o COUNT concorrente do CountCache, nao
+entram na contagem.
+*/
+public class SqlStatementCounter {
+
+    private static final ThreadLocal<Deque<Scope>> SCOPES = ThreadLocal.withInitial(ArrayDeque::new);
+
+    private static final Pattern LITERALS = Pattern.compile("'(?:[^']|'')*'|\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern IN_LISTS = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    public static Scope open() {
+        Scope scope = new Scope();
+        SCOPES.get().push(scope);
+        return scope;
+    }
+
+    public static void record(String sql) {
+        Deque<Scope> scopes = SCOPES.get();
+        if (scopes.isEmpty()) {
+            return;
+        }
+        String shape = isSelect(sql) ? shape(sql) : null;
+        for (Scope scope : scopes) {
+            scope.add(shape);
+        }
+    }
+
+    static String shape(String sql) {
+        String shape = LITERALS.matcher(sql).replaceAll("?");
+        shape = IN_LISTS.matcher(shape).replaceAll("(?)");
+        return WHITESPACE.matcher(shape).replaceAll(" ").trim();
+    }
+
+    private static boolean isSelect(String sql) {
+        String trimmed = sql.stripLeading();
+        return trimmed.regionMatches(true, 0, "select", 0, 6) || trimmed.regionMatches(true, 0, "with", 0, 4);
+    }
+
+    public static class Scope implements AutoCloseable {
+
+        private int count;
+        private final Map<String, Integer> selects = new HashMap<>();
+
+        private Scope() {
+        }
+
+        private void add(String shape) {
+            count++;
+            if (shape != null) {
+                selects.merge(shape, 1, Integer::sum);
+            }
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        /* Quantas vezes o SELECT mais repetido foi executado; 0 se nenhum SELECT foi executado. */
+        public int getMaxRepetitions() {
+            return selects.values().stream().mapToInt(Integer::intValue).max().orElse(0);
+        }
+
+        public String getMostRepeated() {
+            return selects.entrySet().stream()
+                    .max(Map.Entry.comparingByValue())
+                    .map(Map.Entry::getKey)
+                    .orElse(null);
+        }
+
+        public String describe() {
+            String mostRepeated = getMostRepeated();
+            return mostRepeated == null
+                    ? String.format(Locale.ROOT, "%d statements", count)
+                    : String.format(Locale.ROOT, "%d statements, most repeated (%dx): %s", count,
+                    getMaxRepetitions(), mostRepeated);
+        }
+
+        @Override
+        public void close() {
+            Deque<Scope> scopes = SCOPES.get();
+            scopes.remove(this);
+            if (scopes.isEmpty()) {
+                SCOPES.remove();
+            }
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.sirkaue.dscatalog.util;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+public class TransactionUtils {
+
+    /*
+    Executa a acao somente depois do commit da transacao corrente, para que caches e indices em memoria nunca
+    reflitam uma escrita que sofreu rollback. Sem transacao ativa, a acao e executada imediatamente.
+    */
+    public static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
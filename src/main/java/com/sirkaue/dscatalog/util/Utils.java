@@ -0,0 +1,30 @@
+package com.sirkaue.dscatalog.util;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+public class Utils {
+
+    /*
+    Consultas com "WHERE id IN (...)" nao garantem a ordem dos resultados. Este metodo devolve as entidades
+    na mesma ordem da lista de ids informada, descartando ids que nao foram encontrados.
+    */
+    public static <T, ID> List<T> orderByIds(List<ID> ids, List<T> entities, Function<T, ID> idGetter) {
+        Map<ID, T> map = new HashMap<>();
+        for (T entity : entities) {
+            map.put(idGetter.apply(entity), entity);
+        }
+
+        List<T> result = new ArrayList<>(ids.size());
+        for (ID id : ids) {
+            T entity = map.get(id);
+            if (entity != null) {
+                result.add(entity);
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,233 @@
+package com.sirkaue.dscatalog.benchmark;
+
+import com.sirkaue.dscatalog.DscatalogApplication;
+import jakarta.persistence.EntityManagerFactory;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+import java.util.function.LongFunction;
+
+/*
+Teste de carga de ponta a ponta sobre ProductResource, CategoryResource e UserResource. A aplicacao sobe inteira em
+uma porta aleatoria e cada tipo de requisicao roda em uma fase propria, com taxa de chegada fixa (modelo aberto): a
+requisicao i sai no instante inicio + i / taxa, sem esperar as anteriores terminarem.
+
+A latencia e medida a partir do instante em que a requisicao deveria ter saido, e nao de quando saiu de fato. Assim
+uma pausa do servidor (GC, pool de conexoes esgotado) aparece no p99 de todas as requisicoes que ficaram atrasadas
+por causa dela, em vez de sumir da medicao (coordinated omission). A coluna "svc p99" mostra o tempo de servico sem
+essa correcao, para comparacao. As consultas SQL vem das estatisticas do Hibernate, divididas pelo numero de
+requisicoes da fase.
+
+Nao roda com os testes normais. Por padrao usa um H2 em memoria; para um banco local passe as propriedades do Spring:
+
+    mvn -Pbenchmark test -Dtest=ResourceLoadBenchmark -Dload.rate=200 -Dload.duration=30 \
+        -Dspring.datasource.url=jdbc:mysql://localhost:3306/dscatalog -Dspring.datasource.username=...
+*/
+public class ResourceLoadBenchmark {
+
+    private static final int RATE = Integer.getInteger("load.rate", 100);
+    private static final Duration WARMUP = Duration.ofSeconds(Long.getLong("load.warmup", 10));
+    private static final Duration DURATION = Duration.ofSeconds(Long.getLong("load.duration", 20));
+
+    private static final long HIGHEST_LATENCY = TimeUnit.MINUTES.toNanos(1);
+
+    private HttpClient client;
+    private Statistics statistics;
+    private String baseUrl;
+
+    @Test
+    public void reportLatencyThroughputAndSqlCountPerRequestTypeWhenUnderFixedArrivalRate() {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(DscatalogApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:load",
+                        "spring.jpa.show-sql=false",
+                        "spring.jpa.properties.hibernate.generate_statistics=true",
+                        "logging.level.root=WARN")
+                .run()) {
+            int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+            baseUrl = "http://localhost:" + port;
+            client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .build();
+            statistics = context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+
+            run("warmup", WARMUP, i -> get(i % 2 == 0 ? "/products?page=0&size=12" : "/products/" + (i % 25 + 1)));
+
+            List<Result> results = new ArrayList<>();
+            results.addAll(runCrud("products", 25, ResourceLoadBenchmark::productJson,
+                    ResourceLoadBenchmark::productJson));
+            results.addAll(runCrud("categories", 3, ResourceLoadBenchmark::categoryJson,
+                    ResourceLoadBenchmark::categoryJson));
+            results.addAll(runCrud("users", 2, userJson("new"), userJson("updated")));
+
+            System.out.printf("%n%-24s %8s %9s %9s %9s %9s %9s %9s %9s %8s %7s%n", "request", "count", "req/s",
+                    "p50 (ms)", "p90 (ms)", "p99 (ms)", "p99.9", "max (ms)", "svc p99", "sql/req", "errors");
+            results.forEach(result -> System.out.println(result.format()));
+
+            for (Result result : results) {
+                Assertions.assertEquals(0, result.errors, result.name);
+            }
+        }
+    }
+
+    /*
+    Os ids criados pelo POST sao usados pelo PUT e depois pelo DELETE, para que as escritas nao disputem as mesmas
+    linhas e nao apaguem os dados iniciais usados pelos GETs.
+    */
+    private List<Result> runCrud(String resource, long seededRows, LongFunction<String> insertJson,
+                                 LongFunction<String> updateJson) {
+        String path = "/" + resource;
+        Queue<Long> created = new ConcurrentLinkedQueue<>();
+        List<Result> results = new ArrayList<>();
+
+        results.add(run("GET " + path, DURATION, i -> get(path + "?page=" + (i % 3) + "&size=12")));
+        results.add(run("GET " + path + "/{id}", DURATION, i -> get(path + "/" + (i % seededRows + 1))));
+        results.add(run("POST " + path, DURATION, i -> send("POST", path, insertJson.apply(i)),
+                response -> response.headers().firstValue("Location").ifPresent(location ->
+                        created.add(Long.parseLong(location.substring(location.lastIndexOf('/') + 1))))));
+
+        List<Long> ids = new ArrayList<>(created);
+        if (ids.isEmpty()) {
+            return results;
+        }
+        results.add(run("PUT " + path + "/{id}", DURATION, i -> {
+            Long id = ids.get((int) (i % ids.size()));
+            return send("PUT", path + "/" + id, updateJson.apply(id));
+        }));
+        results.add(run("DELETE " + path + "/{id}", DURATION, i -> {
+            Long id = ids.get((int) (i % ids.size()));
+            return send("DELETE", path + "/" + id, null);
+        }));
+        return results;
+    }
+
+    private Result run(String name, Duration duration, LongFunction<HttpRequest> requests) {
+        return run(name, duration, requests, response -> {
+        });
+    }
+
+    private Result run(String name, Duration duration, LongFunction<HttpRequest> requests,
+                       Consumer<HttpResponse<Void>> onSuccess) {
+        Histogram responseTime = new ConcurrentHistogram(HIGHEST_LATENCY, 3);
+        Histogram serviceTime = new ConcurrentHistogram(HIGHEST_LATENCY, 3);
+        LongAdder errors = new LongAdder();
+        long total = (long) RATE * duration.toSeconds();
+        long interval = TimeUnit.SECONDS.toNanos(1) / RATE;
+        List<CompletableFuture<?>> inFlight = new ArrayList<>((int) total);
+
+        long sqlBefore = statistics.getPrepareStatementCount();
+        long start = System.nanoTime();
+        for (long i = 0; i < total; i++) {
+            long intended = start + i * interval;
+            long now;
+            while ((now = System.nanoTime()) < intended) {
+                LockSupport.parkNanos(intended - now);
+            }
+            HttpRequest request = requests.apply(i);
+            long sent = System.nanoTime();
+            inFlight.add(client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, e) -> {
+                        long end = System.nanoTime();
+                        responseTime.recordValue(Math.min(end - intended, HIGHEST_LATENCY));
+                        serviceTime.recordValue(Math.min(end - sent, HIGHEST_LATENCY));
+                        if (e != null || response.statusCode() >= 300) {
+                            errors.increment();
+                        } else {
+                            onSuccess.accept(response);
+                        }
+                    }));
+        }
+        CompletableFuture.allOf(inFlight.toArray(CompletableFuture[]::new))
+                .handle((ignored, e) -> null)
+                .join();
+        double seconds = (System.nanoTime() - start) / 1e9;
+        long sql = statistics.getPrepareStatementCount() - sqlBefore;
+
+        return new Result(name, responseTime, serviceTime, total / seconds, (double) sql / total, errors.sum());
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).build();
+    }
+
+    private HttpRequest send(String method, String path, String json) {
+        HttpRequest.BodyPublisher body = json == null
+                ? HttpRequest.BodyPublishers.noBody()
+                : HttpRequest.BodyPublishers.ofString(json);
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Content-Type", "application/json")
+                .method(method, body)
+                .build();
+    }
+
+    private static String productJson(long n) {
+        return String.format("{\"name\":\"Load product %d\",\"description\":\"Produto gerado pelo teste de carga\"," +
+                "\"price\":%d.90,\"imgUrl\":\"https://img.com/%d.jpg\",\"date\":\"2020-07-13T20:50:07Z\"," +
+                "\"categories\":[{\"id\":1},{\"id\":3}]}", n, n % 1000 + 1, n);
+    }
+
+    private static String categoryJson(long n) {
+        return String.format("{\"name\":\"Load category %d\"}", n);
+    }
+
+    /*
+    O email precisa ser unico: o prefixo separa os emails do POST (indice da requisicao) dos do PUT (id do usuario).
+    */
+    private static LongFunction<String> userJson(String prefix) {
+        return n -> String.format("{\"firstName\":\"Load\",\"lastName\":\"User %d\"," +
+                "\"email\":\"%s%d@gmail.com\",\"password\":\"123456\",\"roles\":[{\"id\":1}]}", n, prefix, n);
+    }
+
+    private static class Result {
+
+        private final String name;
+        private final Histogram responseTime;
+        private final Histogram serviceTime;
+        private final double throughput;
+        private final double sqlPerRequest;
+        private final long errors;
+
+        private Result(String name, Histogram responseTime, Histogram serviceTime, double throughput,
+                       double sqlPerRequest, long errors) {
+            this.name = name;
+            this.responseTime = responseTime;
+            this.serviceTime = serviceTime;
+            this.throughput = throughput;
+            this.sqlPerRequest = sqlPerRequest;
+            this.errors = errors;
+        }
+
+        private String format() {
+            return String.format("%-24s %8d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f %9.2f %8.2f %7d", name,
+                    responseTime.getTotalCount(), throughput, millis(responseTime, 50), millis(responseTime, 90),
+                    millis(responseTime, 99), millis(responseTime, 99.9), responseTime.getMaxValue() / 1e6,
+                    millis(serviceTime, 99), sqlPerRequest, errors);
+        }
+
+        private static double millis(Histogram histogram, double percentile) {
+            return histogram.getValueAtPercentile(percentile) / 1e6;
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package com.sirkaue.dscatalog.benchmark;
+
+import com.sirkaue.dscatalog.DscatalogApplication;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/*
+Compara vazao e p99 de ProductResource/CategoryResource com o Tomcat em threads de plataforma e em threads
+virtuais. Cada modo sobe a aplicacao inteira em uma porta aleatoria e recebe carga de um numero fixo de clientes
+concorrentes. Nao roda com os testes normais (o nome nao segue o padrao do surefire); use:
+
+    mvn -Pjava21,benchmark test -Dbenchmark.concurrency=400 -Dbenchmark.duration=30
+*/
+public class ResourceThroughputBenchmark {
+
+    private static final int CONCURRENCY = Integer.getInteger("benchmark.concurrency", 400);
+    private static final Duration WARMUP = Duration.ofSeconds(Long.getLong("benchmark.warmup", 10));
+    private static final Duration DURATION = Duration.ofSeconds(Long.getLong("benchmark.duration", 30));
+
+    private static final List<String> PATHS = List.of(
+            "/products?page=0&size=12",
+            "/products/1",
+            "/products/2",
+            "/categories?page=0&size=10",
+            "/categories/1");
+
+    @Test
+    public void compareThroughputAndP99WhenRunningOnPlatformAndVirtualThreads() throws Exception {
+        Assumptions.assumeTrue(Runtime.version().feature() >= 21, "Virtual threads require Java 21");
+
+        Result platform = run(false);
+        Result virtual = run(true);
+
+        System.out.printf("%n%-10s %12s %10s %10s %8s%n", "mode", "req/s", "p50 (ms)", "p99 (ms)", "errors");
+        System.out.println(platform.format("platform"));
+        System.out.println(virtual.format("virtual"));
+
+        Assertions.assertEquals(0, platform.errors);
+        Assertions.assertEquals(0, virtual.errors);
+    }
+
+    private Result run(boolean virtualThreads) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(DscatalogApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.threads.virtual.enabled=" + virtualThreads,
+                        "spring.datasource.url=jdbc:h2:mem:benchmark-" + (virtualThreads ? "virtual" : "platform"),
+                        "spring.jpa.show-sql=false",
+                        "logging.level.root=WARN")
+                .run()) {
+            int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+            load(port, WARMUP);
+            return load(port, DURATION);
+        }
+    }
+
+    private Result load(int port, Duration duration) throws Exception {
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+        ExecutorService workers = Executors.newFixedThreadPool(CONCURRENCY);
+        long start = System.nanoTime();
+        long deadline = start + duration.toNanos();
+
+        try {
+            List<Future<Worker>> futures = new ArrayList<>();
+            for (int i = 0; i < CONCURRENCY; i++) {
+                Worker worker = new Worker(client, port, i);
+                futures.add(workers.submit(() -> worker.runUntil(deadline)));
+            }
+
+            List<Worker> finished = new ArrayList<>();
+            for (Future<Worker> future : futures) {
+                finished.add(future.get());
+            }
+            long[] latencies = new long[finished.stream().mapToInt(w -> w.count).sum()];
+            long errors = 0;
+            int offset = 0;
+            for (Worker worker : finished) {
+                System.arraycopy(worker.latencies, 0, latencies, offset, worker.count);
+                offset += worker.count;
+                errors += worker.errors;
+            }
+            double seconds = (System.nanoTime() - start) / 1e9;
+            Arrays.sort(latencies);
+            return new Result(latencies.length / seconds, percentile(latencies, 0.50), percentile(latencies, 0.99),
+                    errors);
+        } finally {
+            workers.shutdownNow();
+        }
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(p * sorted.length) - 1;
+        return sorted[Math.max(index, 0)] / 1e6;
+    }
+
+    private static class Worker {
+
+        private final HttpClient client;
+        private final int port;
+        private int next;
+
+        private long[] latencies = new long[1024];
+        private int count;
+        private long errors;
+
+        private Worker(HttpClient client, int port, int offset) {
+            this.client = client;
+            this.port = port;
+            this.next = offset;
+        }
+
+        private Worker runUntil(long deadline) {
+            while (System.nanoTime() < deadline) {
+                String path = PATHS.get(next++ % PATHS.size());
+                HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path)).build();
+                long start = System.nanoTime();
+                try {
+                    HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+                    if (response.statusCode() != 200) {
+                        errors++;
+                    }
+                } catch (Exception e) {
+                    errors++;
+                }
+                record(System.nanoTime() - start);
+            }
+            return this;
+        }
+
+        private void record(long latency) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = latency;
+        }
+    }
+
+    private static class Result {
+
+        private final double throughput;
+        private final double p50;
+        private final double p99;
+        private final long errors;
+
+        private Result(double throughput, double p50, double p99, long errors) {
+            this.throughput = throughput;
+            this.p50 = p50;
+            this.p99 = p99;
+            this.errors = errors;
+        }
+
+        private String format(String mode) {
+            return String.format("%-10s %12.1f %10.2f %10.2f %8d", mode, throughput, p50, p99, errors);
+        }
+    }
+}
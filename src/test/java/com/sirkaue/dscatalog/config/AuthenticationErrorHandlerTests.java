@@ -0,0 +1,79 @@
+package com.sirkaue.dscatalog.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sirkaue.dscatalog.services.exceptions.ServiceUnavailableException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.InternalAuthenticationServiceException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+public class AuthenticationErrorHandlerTests {
+
+    private AuthenticationErrorHandler handler;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+
+    @BeforeEach
+    void setUp() {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        handler = new AuthenticationErrorHandler(objectMapper);
+        request = new MockHttpServletRequest("POST", "/login");
+        response = new MockHttpServletResponse();
+    }
+
+    @Test
+    public void commenceShouldReturnUnauthorizedWhenCredentialsAreInvalid() throws Exception {
+        handler.commence(request, response, new BadCredentialsException("Bad credentials"));
+
+        Assertions.assertEquals(401, response.getStatus());
+    }
+
+    @Test
+    public void onAuthenticationFailureShouldReturnServiceUnavailableWhenPasswordPoolIsOverloaded() throws Exception {
+        handler.onAuthenticationFailure(request, response, new InternalAuthenticationServiceException("Overloaded",
+                new ServiceUnavailableException("Password hashing is overloaded, try again later")));
+
+        Assertions.assertEquals(503, response.getStatus());
+        Assertions.assertEquals("1", response.getHeader(HttpHeaders.RETRY_AFTER));
+        Assertions.assertTrue(response.getContentAsString().contains("Password hashing is overloaded"));
+    }
+
+    @Test
+    public void authenticateShouldThrowAuthenticationExceptionWhenPasswordEncoderIsOverloaded() throws Exception {
+        PasswordAuthenticationProvider provider = new PasswordAuthenticationProvider(
+                username -> User.withUsername(username).password("hash").roles("OPERATOR").build(),
+                (user, newPassword) -> user,
+                overloadedEncoder());
+
+        AuthenticationException exception = Assertions.assertThrows(AuthenticationException.class, () ->
+                provider.authenticate(UsernamePasswordAuthenticationToken.unauthenticated("alex@gmail.com",
+                        "123456")));
+        handler.commence(request, response, exception);
+
+        Assertions.assertEquals(503, response.getStatus());
+    }
+
+    private static PasswordEncoder overloadedEncoder() {
+        return new PasswordEncoder() {
+
+            @Override
+            public String encode(CharSequence rawPassword) {
+                throw new ServiceUnavailableException("Password hashing is overloaded, try again later");
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                throw new ServiceUnavailableException("Password hashing is overloaded, try again later");
+            }
+        };
+    }
+}
@@ -0,0 +1,114 @@
+package com.sirkaue.dscatalog.config;
+
+import com.sirkaue.dscatalog.services.exceptions.ServiceUnavailableException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+public class BoundedPasswordEncoderTests {
+
+    private MeterRegistry meterRegistry;
+    private CountDownLatch started;
+    private CountDownLatch release;
+    private BoundedPasswordEncoder encoder;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        started = new CountDownLatch(1);
+        release = new CountDownLatch(1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        encoder.shutdown();
+    }
+
+    @Test
+    public void encodeShouldReturnHashAcceptedByMatchesWhenPoolIsIdle() {
+        encoder = new BoundedPasswordEncoder(new BCryptPasswordEncoder(4), 1, 1, Duration.ofSeconds(5),
+                meterRegistry);
+
+        String hash = encoder.encode("123456");
+
+        Assertions.assertTrue(encoder.matches("123456", hash));
+        Assertions.assertFalse(encoder.matches("654321", hash));
+    }
+
+    @Test
+    public void encodeShouldThrowServiceUnavailableExceptionWhenQueueIsFull() throws InterruptedException {
+        encoder = new BoundedPasswordEncoder(blocking(), 1, 1, Duration.ofSeconds(5), meterRegistry);
+        background(() -> encoder.encode("running"));
+        Assertions.assertTrue(started.await(5, TimeUnit.SECONDS));
+        background(() -> encoder.encode("queued"));
+        awaitQueued(1);
+
+        Assertions.assertThrows(ServiceUnavailableException.class, () -> encoder.encode("rejected"));
+        Assertions.assertEquals(1.0, meterRegistry.get("dscatalog.password.rejected")
+                .tag("reason", "queue-full").counter().count());
+    }
+
+    @Test
+    public void matchesShouldThrowServiceUnavailableExceptionWhenTimeoutExpires() {
+        encoder = new BoundedPasswordEncoder(blocking(), 1, 1, Duration.ofMillis(50), meterRegistry);
+
+        Assertions.assertThrows(ServiceUnavailableException.class, () -> encoder.matches("123456", "hash"));
+        Assertions.assertEquals(1.0, meterRegistry.get("dscatalog.password.rejected")
+                .tag("reason", "timeout").counter().count());
+    }
+
+    @Test
+    public void upgradeEncodingShouldReturnTrueWhenHashHasLowerStrength() {
+        encoder = new BoundedPasswordEncoder(new BCryptPasswordEncoder(5), 1, 1, Duration.ofSeconds(5),
+                meterRegistry);
+
+        Assertions.assertTrue(encoder.upgradeEncoding(new BCryptPasswordEncoder(4).encode("123456")));
+        Assertions.assertFalse(encoder.upgradeEncoding(encoder.encode("123456")));
+    }
+
+    private PasswordEncoder blocking() {
+        return new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return rawPassword.toString();
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return encode(rawPassword).equals(encodedPassword);
+            }
+        };
+    }
+
+    private void awaitQueued(int tasks) throws InterruptedException {
+        for (int i = 0; i < 500; i++) {
+            if (meterRegistry.get("executor.queued").tag("name", "dscatalog.password").gauge().value() >= tasks) {
+                return;
+            }
+            Thread.sleep(10);
+        }
+        Assertions.fail("Task was not queued");
+    }
+
+    private static void background(Runnable task) {
+        Thread thread = new Thread(task);
+        thread.setDaemon(true);
+        thread.start();
+    }
+}
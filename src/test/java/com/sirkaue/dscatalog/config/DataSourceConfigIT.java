@@ -0,0 +1,107 @@
+package com.sirkaue.dscatalog.config;
+
+import com.sirkaue.dscatalog.dto.CategoryDto;
+import com.sirkaue.dscatalog.services.cache.SerializedResponse;
+import com.sirkaue.dscatalog.services.cache.SerializedResponseCache;
+import com.sirkaue.dscatalog.services.CategoryService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+
+/*
+Primario e replica apontam para o mesmo banco em memoria (proprio deste teste), por URLs diferentes; o que se
+verifica e de qual pool saiu a conexao, pela metrica hikaricp.connections.acquire de cada um.
+*/
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:replicated;DB_CLOSE_DELAY=-1",
+        "dscatalog.datasource.replicas[0].url=jdbc:h2:mem:replicated",
+        "dscatalog.datasource.replicas[0].username=sa",
+        "dscatalog.datasource.replicas[0].password=",
+        "spring.datasource.hikari.maximum-pool-size=3"
+})
+public class DataSourceConfigIT {
+
+    @Autowired
+    private CategoryService service;
+
+    @Autowired
+    private SerializedResponseCache responseCache;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @Test
+    public void readOnlyServiceMethodShouldUseReplicaPool() {
+        long primary = acquired("primary");
+        long replica = acquired("replica-1");
+
+        Slice<CategoryDto> result = service.findAllSliced(PageRequest.of(0, 10));
+
+        Assertions.assertFalse(result.isEmpty());
+        Assertions.assertEquals(primary, acquired("primary"));
+        Assertions.assertTrue(acquired("replica-1") > replica);
+    }
+
+    @Test
+    public void responseCacheLoadShouldUsePrimaryPool() {
+        long primary = acquired("primary");
+        long replica = acquired("replica-1");
+
+        SerializedResponse result = responseCache.get(SerializedResponseCache.CATEGORIES, 1L, "",
+                () -> service.findVersionedById(1L));
+
+        Assertions.assertNotNull(result.getJson());
+        Assertions.assertTrue(acquired("primary") > primary);
+        Assertions.assertEquals(replica, acquired("replica-1"));
+    }
+
+    @Test
+    public void writeServiceMethodShouldUsePrimaryPool() {
+        long primary = acquired("primary");
+        long replica = acquired("replica-1");
+
+        CategoryDto dto = new CategoryDto();
+        dto.setName("Replicated");
+        CategoryDto result = service.insert(dto);
+        long primaryAfter = acquired("primary");
+        long replicaAfter = acquired("replica-1");
+        service.delete(result.getId());
+
+        Assertions.assertTrue(primaryAfter > primary);
+        Assertions.assertEquals(replica, replicaAfter);
+    }
+
+    @Test
+    public void poolsShouldUseSpringDatasourceHikariSettings() {
+        service.findAllSliced(PageRequest.of(0, 10));
+
+        Assertions.assertEquals(3.0, maxConnections("primary"));
+        Assertions.assertEquals(3.0, maxConnections("replica-1"));
+    }
+
+    private long acquired(String pool) {
+        Timer timer = meterRegistry.find("hikaricp.connections.acquire").tag("pool", pool).timer();
+        return timer == null ? 0 : timer.count();
+    }
+
+    private double maxConnections(String pool) {
+        Gauge gauge = meterRegistry.find("hikaricp.connections.max").tag("pool", pool).gauge();
+        return gauge == null ? 0 : gauge.value();
+    }
+}
@@ -0,0 +1,128 @@
+package com.sirkaue.dscatalog.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+
+public class ReplicaDataSourceTests {
+
+    private DataSource primary;
+    private DataSource replica1;
+    private DataSource replica2;
+    private DataSource unavailable;
+
+    @BeforeEach
+    void setUp() {
+        primary = database("primary");
+        replica1 = database("replica1");
+        replica2 = database("replica2");
+        unavailable = new DriverManagerDataSource("jdbc:h2:mem:unavailable;IFEXISTS=TRUE");
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReplicaDataSource.unpin();
+        for (DataSource dataSource : List.of(primary, replica1, replica2)) {
+            new JdbcTemplate(dataSource).execute("SHUTDOWN");
+        }
+    }
+
+    @Test
+    public void readOnlyTransactionShouldUseReplicaWhenReplicaIsAvailable() {
+        DataSource dataSource = routing(List.of(replica1));
+
+        Assertions.assertEquals("replica1", read(dataSource, true));
+    }
+
+    @Test
+    public void readWriteTransactionShouldUsePrimaryWhenReplicasAreAvailable() {
+        DataSource dataSource = routing(List.of(replica1));
+
+        Assertions.assertEquals("primary", read(dataSource, false));
+    }
+
+    @Test
+    public void readOnlyTransactionsShouldAlternateReplicasWhenThereAreTwo() {
+        DataSource dataSource = routing(List.of(replica1, replica2));
+
+        Assertions.assertEquals("replica1", read(dataSource, true));
+        Assertions.assertEquals("replica2", read(dataSource, true));
+        Assertions.assertEquals("replica1", read(dataSource, true));
+    }
+
+    @Test
+    public void readOnlyTransactionShouldSkipReplicaWhenReplicaIsUnavailable() {
+        DataSource dataSource = routing(List.of(unavailable, replica2));
+
+        Assertions.assertEquals("replica2", read(dataSource, true));
+        Assertions.assertEquals("replica2", read(dataSource, true));
+    }
+
+    @Test
+    public void readOnlyTransactionShouldUsePrimaryWhenNoReplicaIsAvailable() {
+        DataSource dataSource = routing(List.of(unavailable));
+
+        Assertions.assertEquals("primary", read(dataSource, true));
+    }
+
+    @Test
+    public void readOnlyTransactionShouldUsePrimaryWhenPinnedAfterWrite() {
+        DataSource dataSource = routing(List.of(replica1));
+
+        ReplicaDataSource.pinToPrimary();
+
+        Assertions.assertEquals("primary", read(dataSource, true));
+    }
+
+    @Test
+    public void onPrimaryShouldUsePrimaryOnlyInsideLoader() {
+        DataSource dataSource = routing(List.of(replica1));
+
+        Assertions.assertEquals("primary", ReplicaDataSource.onPrimary(() -> read(dataSource, true)));
+        Assertions.assertEquals("replica1", read(dataSource, true));
+    }
+
+    @Test
+    public void getConnectionWithCredentialsShouldUsePrimary() throws SQLException {
+        ReplicaDataSource dataSource = new ReplicaDataSource(primary, List.of(replica1), Duration.ofMinutes(1));
+
+        try (Connection connection = dataSource.getConnection("sa", "")) {
+            Assertions.assertEquals("primary", new JdbcTemplate(new SingleConnectionDataSource(connection, true))
+                    .queryForObject("SELECT name FROM tb_instance", String.class));
+        }
+    }
+
+    private DataSource routing(List<DataSource> replicas) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primary);
+        dataSource.setReadOnlyDataSource(new ReplicaDataSource(primary, replicas, Duration.ofMinutes(1)));
+        return dataSource;
+    }
+
+    private static String read(DataSource dataSource, boolean readOnly) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        transactionTemplate.setReadOnly(readOnly);
+        return transactionTemplate.execute(status ->
+                new JdbcTemplate(dataSource).queryForObject("SELECT name FROM tb_instance", String.class));
+    }
+
+    private static DataSource database(String name) {
+        DataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE tb_instance (name VARCHAR(20))");
+        jdbcTemplate.update("INSERT INTO tb_instance (name) VALUES (?)", name);
+        return dataSource;
+    }
+}
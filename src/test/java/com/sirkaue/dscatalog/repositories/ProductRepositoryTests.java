@@ -1,7 +1,12 @@
 package com.sirkaue.dscatalog.repositories;
 
+import com.sirkaue.dscatalog.entities.Category;
 import com.sirkaue.dscatalog.entities.Product;
 import com.sirkaue.dscatalog.utils.Factory;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -10,7 +15,10 @@ import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 
+import java.util.List;
 import java.util.Optional;
 
 @DataJpaTest
@@ -19,6 +27,9 @@ public class ProductRepositoryTests {
     @Autowired
     private ProductRepository repository;
 
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
     private long existingId;
     private long nonExistingId;
     private long countTotalProducts;
@@ -41,6 +52,25 @@ public class ProductRepositoryTests {
         Assertions.assertEquals(countTotalProducts, result.getTotalElements());
     }
 
+    @Test
+    public void findProductIdsShouldReturnSliceOfIdsWhenPageableIsGiven() {
+        Pageable pageable = PageRequest.of(0, 3, Sort.by("name"));
+        Slice<Long> result = repository.findProductIds(pageable);
+
+        Assertions.assertEquals(3, result.getContent().size());
+        Assertions.assertTrue(result.hasNext());
+    }
+
+    @Test
+    public void searchProductsWithCategoriesShouldReturnProductsWithInitializedCategories() {
+        List<Product> result = repository.searchProductsWithCategories(List.of(1L, 2L, 3L));
+
+        Assertions.assertEquals(3, result.size());
+        for (Product product : result) {
+            Assertions.assertTrue(Hibernate.isInitialized(product.getCategories()));
+        }
+    }
+
     @Test
     public void findByIdShouldReturnNotEmptyOptionalProductWhenIdExists() {
         Optional<Product> product = repository.findById(existingId);
@@ -53,6 +83,16 @@ public class ProductRepositoryTests {
         Assertions.assertTrue(product.isEmpty());
     }
 
+    @Test
+    public void findByIdShouldPutCategoriesInSecondLevelCacheWhenCategoriesAreLoaded() {
+        Product product = repository.findById(existingId).get();
+        Category category = product.getCategories().iterator().next();
+
+        Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        Assertions.assertTrue(cache.containsEntity(Category.class, category.getId()));
+        Assertions.assertTrue(cache.containsCollection(Product.class.getName() + ".categories", existingId));
+    }
+
     @Test
     public void saveShouldPersistWithAutoIncrementWhenIdIsNull() {
         Product product = Factory.createProduct();
@@ -1,21 +1,39 @@
 package com.sirkaue.dscatalog.resources;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sirkaue.dscatalog.dto.CategoryDto;
 import com.sirkaue.dscatalog.dto.ProductDto;
+import com.sirkaue.dscatalog.entities.ImportJob;
+import com.sirkaue.dscatalog.entities.ImportStatus;
+import com.sirkaue.dscatalog.repositories.ImportJobRepository;
+import com.sirkaue.dscatalog.repositories.ProductRepository;
 import com.sirkaue.dscatalog.utils.Factory;
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.ResultActions;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest
@@ -29,6 +47,12 @@ public class ProductResourceIT {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ImportJobRepository jobRepository;
+
     private Long existingId;
     private Long nonExistingId;
     private Long countTotalProducts;
@@ -54,6 +78,248 @@ public class ProductResourceIT {
         result.andExpect(jsonPath("$.content[2].name").value("PC Gamer Alfa"));
     }
 
+    @Test
+    public void findAllShouldReturnSqlStatementCountHeader() throws Exception {
+        ResultActions result =
+                mockMvc.perform(get("/products?page=0&size=12&sort=name,desc")
+                        .accept(MediaType.APPLICATION_JSON));
+
+        result.andExpect(status().isOk());
+        result.andExpect(header().exists(SqlStatementFilter.HEADER));
+    }
+
+    @Test
+    public void findAllShouldReturnNotModifiedWhenEtagMatches() throws Exception {
+        String etag = mockMvc.perform(get("/products?page=0&size=12").accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        ResultActions result =
+                mockMvc.perform(get("/products?page=0&size=12")
+                        .header(HttpHeaders.IF_NONE_MATCH, etag)
+                        .accept(MediaType.APPLICATION_JSON));
+
+        result.andExpect(status().isNotModified());
+    }
+
+    @Test
+    public void findByIdShouldReturnNotModifiedWhenEtagMatches() throws Exception {
+        ResultActions first = mockMvc.perform(get("/products/{id}", existingId).accept(MediaType.APPLICATION_JSON));
+        first.andExpect(status().isOk());
+        first.andExpect(header().exists(HttpHeaders.ETAG));
+        first.andExpect(header().exists(HttpHeaders.LAST_MODIFIED));
+        String etag = first.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        ResultActions result =
+                mockMvc.perform(get("/products/{id}", existingId)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag)
+                        .accept(MediaType.APPLICATION_JSON));
+
+        result.andExpect(status().isNotModified());
+        result.andExpect(content().string(""));
+    }
+
+    @Test
+    public void exportShouldStreamEveryProductAsNdjsonWhenFormatIsNdjson() throws Exception {
+        MvcResult mvcResult = mockMvc.perform(get("/products/export?format=ndjson"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        ResultActions result = mockMvc.perform(asyncDispatch(mvcResult));
+
+        result.andExpect(status().isOk());
+        result.andExpect(header().string(HttpHeaders.CONTENT_TYPE, "application/x-ndjson"));
+        String[] lines = mvcResult.getResponse().getContentAsString(StandardCharsets.UTF_8).split("\n");
+        Assertions.assertEquals(countTotalProducts, lines.length);
+        Assertions.assertEquals(1L, objectMapper.readValue(lines[0], ProductDto.class).getId());
+        Assertions.assertFalse(objectMapper.readValue(lines[0], ProductDto.class).getCategories().isEmpty());
+    }
+
+    @Test
+    public void importShouldImportValidRowsAndReportInvalidOnesWhenFormatIsNdjson() throws Exception {
+        String body = String.join("\n",
+                "{\"name\":\"Imported Product\",\"description\":\"Desc\",\"price\":10.0,\"categories\":[{\"id\":1}]}",
+                "{\"name\":\"Bad\",\"description\":\"Desc\",\"price\":10.0}",
+                "not json",
+                "{\"name\":\"Missing Category\",\"description\":\"Desc\",\"price\":5.0,\"categories\":[{\"id\":99}]}");
+
+        ResultActions result =
+                mockMvc.perform(post("/products/import?format=ndjson")
+                        .content(body)
+                        .contentType("application/x-ndjson")
+                        .accept(MediaType.APPLICATION_JSON));
+
+        result.andExpect(status().isOk());
+        result.andExpect(jsonPath("$.status").value("COMPLETED"));
+        result.andExpect(jsonPath("$.processedRows").value(4));
+        result.andExpect(jsonPath("$.importedRows").value(1));
+        result.andExpect(jsonPath("$.rejectedRows").value(3));
+    }
+
+    @Test
+    public void importShouldImportRowsWhenFormatIsCsv() throws Exception {
+        String body = "name,description,price,categoryIds\r\n" +
+                "CSV Product,\"Line one\nline, two\",12.5,1|2\r\n";
+
+        ResultActions result =
+                mockMvc.perform(post("/products/import?format=csv")
+                        .content(body)
+                        .contentType("text/csv")
+                        .accept(MediaType.APPLICATION_JSON));
+
+        result.andExpect(status().isOk());
+        result.andExpect(jsonPath("$.importedRows").value(1));
+        result.andExpect(jsonPath("$.rejectedRows").value(0));
+    }
+
+    @Test
+    public void importShouldSkipProcessedRowsWhenResumingFailedJob() throws Exception {
+        Long jobId = failedJob("ndjson", 1).getId();
+        long products = productRepository.count();
+        String body = String.join("\n",
+                "{\"name\":\"Already Imported\",\"description\":\"Desc\",\"price\":10.0,\"categories\":[{\"id\":1}]}",
+                "{\"name\":\"Resumed Product\",\"description\":\"Desc\",\"price\":10.0,\"categories\":[{\"id\":1}]}");
+
+        ResultActions result =
+                mockMvc.perform(post("/products/import?format=ndjson&jobId={jobId}", jobId)
+                        .content(body)
+                        .contentType("application/x-ndjson")
+                        .accept(MediaType.APPLICATION_JSON));
+
+        result.andExpect(status().isOk());
+        result.andExpect(jsonPath("$.status").value("COMPLETED"));
+        result.andExpect(jsonPath("$.processedRows").value(2));
+        result.andExpect(jsonPath("$.importedRows").value(2));
+        Assertions.assertEquals(products + 1, productRepository.count());
+        Assertions.assertTrue(productRepository.findAll().stream()
+                .noneMatch(p -> p.getName().equals("Already Imported")));
+    }
+
+    @Test
+    public void importShouldReturnUnprocessableEntityWhenResumingCompletedJob() throws Exception {
+        ImportJob job = failedJob("ndjson", 1);
+        job.setStatus(ImportStatus.COMPLETED);
+        jobRepository.save(job);
+
+        ResultActions result =
+                mockMvc.perform(post("/products/import?format=ndjson&jobId={jobId}", job.getId())
+                        .content("{}")
+                        .contentType("application/x-ndjson")
+                        .accept(MediaType.APPLICATION_JSON));
+
+        result.andExpect(status().isUnprocessableEntity());
+    }
+
+    @Test
+    public void importShouldReturnUnprocessableEntityWhenResumingJobWithDifferentFormat() throws Exception {
+        Long jobId = failedJob("ndjson", 1).getId();
+
+        ResultActions result =
+                mockMvc.perform(post("/products/import?format=csv&jobId={jobId}", jobId)
+                        .content("name,description,price,categoryIds\r\n")
+                        .contentType("text/csv")
+                        .accept(MediaType.APPLICATION_JSON));
+
+        result.andExpect(status().isUnprocessableEntity());
+        Assertions.assertEquals(ImportStatus.FAILED, jobRepository.findById(jobId).orElseThrow().getStatus());
+    }
+
+    @Test
+    public void importShouldReturnUnprocessableEntityWhenResumingRunningJob() throws Exception {
+        Long jobId = jobRepository.save(new ImportJob("ndjson")).getId();
+
+        ResultActions result =
+                mockMvc.perform(post("/products/import?format=ndjson&jobId={jobId}", jobId)
+                        .content("{}")
+                        .contentType("application/x-ndjson")
+                        .accept(MediaType.APPLICATION_JSON));
+
+        result.andExpect(status().isUnprocessableEntity());
+    }
+
+    @Test
+    public void exportShouldReturnUnprocessableEntityWhenFormatIsUnsupported() throws Exception {
+        ResultActions result = mockMvc.perform(get("/products/export?format=xml"));
+
+        result.andExpect(status().isUnprocessableEntity());
+    }
+
+    @Test
+    public void findByIdShouldReturnGzippedJsonWhenClientAcceptsGzip() throws Exception {
+        ResultActions result =
+                mockMvc.perform(get("/products/{id}", existingId)
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate")
+                        .accept(MediaType.APPLICATION_JSON));
+
+        result.andExpect(status().isOk());
+        result.andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"));
+        result.andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING));
+        byte[] body = result.andReturn().getResponse().getContentAsByteArray();
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            ProductDto dto = objectMapper.readValue(in, ProductDto.class);
+            Assertions.assertEquals(existingId, dto.getId());
+        }
+    }
+
+    @Test
+    public void findByIdShouldReturnPlainJsonWhenClientRefusesGzip() throws Exception {
+        ResultActions result =
+                mockMvc.perform(get("/products/{id}", existingId)
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip;q=0, deflate")
+                        .accept(MediaType.APPLICATION_JSON));
+
+        result.andExpect(status().isOk());
+        result.andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING));
+        result.andExpect(header().exists(HttpHeaders.LAST_MODIFIED));
+        result.andExpect(jsonPath("$.id").value(existingId));
+    }
+
+    @Test
+    public void findAllShouldReturnSliceWithoutTotalsWhenCountIsFalse() throws Exception {
+        ResultActions result =
+                mockMvc.perform(get("/products?page=0&size=12&count=false")
+                        .accept(MediaType.APPLICATION_JSON));
+
+        result.andExpect(status().isOk());
+        result.andExpect(jsonPath("$.content").exists());
+        result.andExpect(jsonPath("$.totalElements").doesNotExist());
+        result.andExpect(jsonPath("$.last").value(false));
+    }
+
+    @Test
+    public void findAllShouldReturnSummariesWithoutDescriptionWhenViewIsSummary() throws Exception {
+        ResultActions result =
+                mockMvc.perform(get("/products?page=0&size=12&sort=name,asc&view=summary")
+                        .accept(MediaType.APPLICATION_JSON));
+
+        result.andExpect(status().isOk());
+        result.andExpect(jsonPath("$.totalElements").value(countTotalProducts));
+        result.andExpect(jsonPath("$.content[0].name").value("Macbook Pro"));
+        result.andExpect(jsonPath("$.content[0].categories").isNotEmpty());
+        result.andExpect(jsonPath("$.content[0].description").doesNotExist());
+    }
+
+    @Test
+    public void findAllByCursorShouldReturnNextCursorWhenThereAreMoreProducts() throws Exception {
+        ResultActions result =
+                mockMvc.perform(get("/products/cursor?size=12&sort=name")
+                        .accept(MediaType.APPLICATION_JSON));
+
+        result.andExpect(status().isOk());
+        result.andExpect(jsonPath("$.totalElements").doesNotExist());
+        result.andExpect(jsonPath("$.next").exists());
+        result.andExpect(jsonPath("$.content[0].name").value("Macbook Pro"));
+    }
+
+    @Test
+    public void findAllByCursorShouldReturnBadRequestWhenCursorIsInvalid() throws Exception {
+        ResultActions result =
+                mockMvc.perform(get("/products/cursor?after=invalid&sort=name")
+                        .accept(MediaType.APPLICATION_JSON));
+
+        result.andExpect(status().isBadRequest());
+    }
+
     @Test
     public void updateShouldReturnProductDtoWhenIdExists() throws Exception {
 
@@ -72,6 +338,20 @@ public class ProductResourceIT {
         result.andExpect(jsonPath("$.description").value(expectedDescription));
     }
 
+    @Test
+    public void updateShouldReturnUnprocessableEntityWhenCategoryDoesNotExist() throws Exception {
+
+        ProductDto productDto = Factory.createProductDto();
+        productDto.getCategories().add(new CategoryDto(nonExistingId, "Missing"));
+        String jsonBody = objectMapper.writeValueAsString(productDto);
+
+        ResultActions result = mockMvc.perform(put("/products/{id}", existingId).content(jsonBody)
+                .contentType(MediaType.APPLICATION_JSON).accept(MediaType.APPLICATION_JSON));
+
+        result.andExpect(status().isUnprocessableEntity());
+        result.andExpect(jsonPath("$.errors[0].fieldName").value("categories"));
+    }
+
     @Test
     public void updateShouldReturnNotFoundWhenIdDoesNotExist() throws Exception {
 
@@ -83,4 +363,11 @@ public class ProductResourceIT {
 
         result.andExpect(status().isNotFound());
     }
+
+    private ImportJob failedJob(String format, long processedRows) {
+        ImportJob job = new ImportJob(format);
+        job.advance(processedRows, processedRows, List.of());
+        job.setStatus(ImportStatus.FAILED);
+        return jobRepository.save(job);
+    }
 }
@@ -2,23 +2,32 @@ package com.sirkaue.dscatalog.resources;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.sirkaue.dscatalog.dto.ProductDto;
+import com.sirkaue.dscatalog.dto.ResourceVersionDto;
+import com.sirkaue.dscatalog.dto.VersionedDto;
+import com.sirkaue.dscatalog.services.ProductExportService;
+import com.sirkaue.dscatalog.services.ProductImportService;
 import com.sirkaue.dscatalog.services.ProductService;
+import com.sirkaue.dscatalog.services.cache.SerializedResponseCache;
 import com.sirkaue.dscatalog.services.exceptions.DatabaseException;
 import com.sirkaue.dscatalog.services.exceptions.ResourceNotFoundException;
 import com.sirkaue.dscatalog.utils.Factory;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.ResultActions;
 
+import java.time.Instant;
 import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -26,6 +35,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(ProductResource.class)
+@Import({SerializedResponseCache.class, SimpleMeterRegistry.class})
 public class ProductResourceTests {
 
     @Autowired
@@ -34,6 +44,12 @@ public class ProductResourceTests {
     @MockBean
     private ProductService service;
 
+    @MockBean
+    private ProductExportService exportService;
+
+    @MockBean
+    private ProductImportService importService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -55,6 +71,14 @@ public class ProductResourceTests {
         when(service.findAllPaged(any())).thenReturn(page);
         when(service.findById(existingId)).thenReturn(productDto);
         when(service.findById(nonExistingId)).thenThrow(ResourceNotFoundException.class);
+        when(service.findVersionedById(existingId))
+                .thenReturn(new VersionedDto<>(productDto, new ResourceVersionDto("1-0", Instant.now())));
+        when(service.findVersionedPage(any(), anyBoolean()))
+                .thenReturn(new VersionedDto<>(page, new ResourceVersionDto("page", Instant.now())));
+
+        when(service.findPageVersion(any(), anyBoolean())).thenReturn(new ResourceVersionDto("page", Instant.now()));
+        when(service.findVersion(existingId)).thenReturn(new ResourceVersionDto("1-0", Instant.now()));
+        when(service.findVersion(nonExistingId)).thenThrow(ResourceNotFoundException.class);
 
         when(service.update(eq(existingId), any())).thenReturn(productDto);
         when(service.update(eq(nonExistingId), any())).thenThrow(ResourceNotFoundException.class);
@@ -1,9 +1,20 @@
 package com.sirkaue.dscatalog.services;
 
+import com.sirkaue.dscatalog.dto.CategoryDto;
+import com.sirkaue.dscatalog.dto.CursorPageDto;
+import com.sirkaue.dscatalog.dto.ProductBatchItemDto;
 import com.sirkaue.dscatalog.dto.ProductDto;
+import com.sirkaue.dscatalog.dto.VersionedDto;
 import com.sirkaue.dscatalog.repositories.ProductRepository;
 import com.sirkaue.dscatalog.services.exceptions.DatabaseException;
+import com.sirkaue.dscatalog.services.exceptions.InvalidCursorException;
 import com.sirkaue.dscatalog.services.exceptions.ResourceNotFoundException;
+import com.sirkaue.dscatalog.services.exceptions.ValidationException;
+import com.sirkaue.dscatalog.services.impl.ProductServiceImpl;
+import com.sirkaue.dscatalog.utils.Factory;
+import com.sirkaue.dscatalog.utils.SqlStatements;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -11,9 +22,14 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
 @SpringBootTest
 @Transactional
 public class ProductServiceIT {
@@ -24,6 +40,9 @@ public class ProductServiceIT {
     @Autowired
     private ProductRepository repository;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     private Long existingId;
     private Long nonExistingId;
     private Long countTotalProducts;
@@ -71,6 +90,139 @@ public class ProductServiceIT {
         Assertions.assertEquals("PC Gamer Alfa", result.getContent().get(2).getName());
     }
 
+    @Test
+    public void findAllSlicedShouldReturnSliceWithNextWhenThereAreMoreProducts() {
+
+        PageRequest pageRequest = PageRequest.of(0, 10);
+
+        Slice<ProductDto> result = service.findAllSliced(pageRequest);
+
+        Assertions.assertEquals(10, result.getNumberOfElements());
+        Assertions.assertTrue(result.hasNext());
+    }
+
+    @Test
+    public void findAllSlicedShouldExecuteTwoStatementsWhenPageHasManyProductsAndCategories() {
+
+        PageRequest pageRequest = PageRequest.of(0, 25);
+
+        Slice<ProductDto> result = SqlStatements.assertAtMost(2, () -> service.findAllSliced(pageRequest));
+
+        Assertions.assertEquals(25, result.getNumberOfElements());
+        Assertions.assertFalse(result.getContent().get(0).getCategories().isEmpty());
+    }
+
+    @Test
+    public void findVersionedPageShouldReadVersionOnceAndMatchPageVersion() {
+        PageRequest pageRequest = PageRequest.of(0, 10);
+
+        VersionedDto<Slice<ProductDto>> result = SqlStatements.assertAtMost(3, () ->
+                service.findVersionedPage(pageRequest, false));
+
+        Assertions.assertEquals(10, result.getBody().getNumberOfElements());
+        Assertions.assertEquals(service.findPageVersion(pageRequest, false).getEtag(), result.getVersion().getEtag());
+        Assertions.assertEquals(service.findPageVersion(pageRequest, true).getEtag(),
+                service.findVersionedPage(pageRequest, true).getVersion().getEtag());
+    }
+
+    @Test
+    public void searchShouldReturnMatchingProductsRankedByRelevance() {
+
+        Page<ProductDto> result = service.search("macbook", PageRequest.of(0, 10));
+
+        Assertions.assertEquals(1, result.getTotalElements());
+        Assertions.assertEquals("Macbook Pro", result.getContent().get(0).getName());
+    }
+
+    @Test
+    public void findAllByCursorShouldReturnFirstPageSortedByName() {
+
+        CursorPageDto<ProductDto> result = service.findAllByCursor(null, 3, "name");
+
+        Assertions.assertEquals(3, result.getContent().size());
+        Assertions.assertNotNull(result.getNext());
+        Assertions.assertEquals("Macbook Pro", result.getContent().get(0).getName());
+        Assertions.assertEquals("PC Gamer", result.getContent().get(1).getName());
+        Assertions.assertEquals("PC Gamer Alfa", result.getContent().get(2).getName());
+    }
+
+    @Test
+    public void findAllByCursorShouldWalkAllProductsWhenFollowingNextCursor() {
+
+        Set<Long> ids = new HashSet<>();
+        String after = null;
+        do {
+            CursorPageDto<ProductDto> result = service.findAllByCursor(after, 10, "id");
+            result.getContent().forEach(p -> ids.add(p.getId()));
+            after = result.getNext();
+        } while (after != null);
+
+        Assertions.assertEquals(countTotalProducts, ids.size());
+    }
+
+    @Test
+    public void findAllByCursorShouldThrowInvalidCursorExceptionWhenSortDoesNotMatchCursor() {
+
+        String next = service.findAllByCursor(null, 3, "id").getNext();
+
+        Assertions.assertThrows(InvalidCursorException.class, () -> {
+            service.findAllByCursor(next, 3, "name");
+        });
+    }
+
+    @Test
+    public void findAllPagedShouldRecordServiceRepositoryAndHibernateMetrics() {
+
+        service.findAllPaged(PageRequest.of(0, 10));
+
+        Timer timer = meterRegistry.find("dscatalog.service")
+                .tags("class", ProductServiceImpl.class.getName(), "method", "findAllPaged").timer();
+        Assertions.assertNotNull(timer);
+        Assertions.assertTrue(timer.count() > 0);
+        Assertions.assertNotNull(meterRegistry.find("spring.data.repository.invocations")
+                .tags("repository", "ProductRepository").timer());
+        Assertions.assertNotNull(meterRegistry.find("hibernate.query.executions").meter());
+    }
+
+    @Test
+    public void findVersionedByIdShouldReturnBodyWithCurrentVersionWhenIdExists() {
+
+        VersionedDto<ProductDto> result = service.findVersionedById(existingId);
+
+        Assertions.assertEquals(existingId, result.getBody().getId());
+        Assertions.assertEquals(service.findVersion(existingId).getEtag(), result.getVersion().getEtag());
+    }
+
+    @Test
+    public void insertShouldThrowValidationExceptionWhenCategoryDoesNotExist() {
+
+        ProductDto dto = Factory.createProductDto();
+        dto.getCategories().add(new CategoryDto(nonExistingId, "Missing"));
+
+        ValidationException e = Assertions.assertThrows(ValidationException.class, () -> {
+            service.insert(dto);
+        });
+        Assertions.assertTrue(e.getMessage().contains(nonExistingId.toString()));
+    }
+
+    @Test
+    public void insertAllShouldInsertValidProductsAndRejectInvalidOnesWhenBatchIsMixed() {
+
+        ProductDto invalid = Factory.createProductDto();
+        invalid.getCategories().add(new CategoryDto(nonExistingId, "Missing"));
+
+        List<ProductBatchItemDto> result = service.insertAll(
+                List.of(Factory.createProductDto(), invalid, Factory.createProductDto()));
+
+        Assertions.assertEquals(3, result.size());
+        Assertions.assertEquals(ProductBatchItemDto.CREATED, result.get(0).getStatus());
+        Assertions.assertNotNull(result.get(0).getId());
+        Assertions.assertEquals(ProductBatchItemDto.REJECTED, result.get(1).getStatus());
+        Assertions.assertEquals(1, result.get(1).getIndex());
+        Assertions.assertEquals(ProductBatchItemDto.CREATED, result.get(2).getStatus());
+        Assertions.assertEquals(countTotalProducts + 2, repository.count());
+    }
+
     @Test
     public void deleteShouldDeleteResourceWhenIdExists() {
 
@@ -79,6 +231,15 @@ public class ProductServiceIT {
         Assertions.assertEquals(countTotalProducts - 1, repository.count());
     }
 
+    @Test
+    public void deleteAllShouldDeleteOnlyExistingProductsWhenSomeIdsDoNotExist() {
+
+        service.deleteAll(List.of(existingId, 2L, nonExistingId));
+
+        Assertions.assertEquals(countTotalProducts - 2, repository.count());
+        Assertions.assertFalse(repository.existsById(existingId));
+    }
+
     @Test
     public void deleteShouldThrowResourceNotFoundExceptionWhenIdDoesNotExists() {
 
@@ -5,8 +5,11 @@ import com.sirkaue.dscatalog.entities.Category;
 import com.sirkaue.dscatalog.entities.Product;
 import com.sirkaue.dscatalog.repositories.CategoryRepository;
 import com.sirkaue.dscatalog.repositories.ProductRepository;
+import com.sirkaue.dscatalog.services.cache.CountCache;
+import com.sirkaue.dscatalog.services.cache.SerializedResponseCache;
 import com.sirkaue.dscatalog.services.exceptions.DatabaseException;
 import com.sirkaue.dscatalog.services.exceptions.ResourceNotFoundException;
+import com.sirkaue.dscatalog.services.search.ProductSearchIndex;
 import com.sirkaue.dscatalog.utils.Factory;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
@@ -17,11 +20,10 @@ import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
 import org.springframework.dao.DataIntegrityViolationException;
-import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
 import java.util.List;
@@ -41,11 +43,20 @@ public class ProductServiceTests {
     @Mock
     private CategoryRepository categoryRepository;
 
+    @Mock
+    private CountCache countCache;
+
+    @Mock
+    private ProductSearchIndex searchIndex;
+
+    @Mock
+    private SerializedResponseCache responseCache;
+
     private long existingId;
     private long nonExistingId;
     private long dependentId;
     private Product product;
-    private PageImpl<Product> page;
+    private SliceImpl<Long> page;
     private ProductDto productDto;
     private Category category;
 
@@ -57,11 +68,12 @@ public class ProductServiceTests {
         dependentId = 3L;
         product = Factory.createProduct();
         productDto = Factory.createProductDto();
-        page = new PageImpl<>(List.of(product));
+        page = new SliceImpl<>(List.of(product.getId()));
 
 
         //Testing findAll
-        Mockito.when(repository.findAll((Pageable) any())).thenReturn(page);
+        Mockito.when(repository.findProductIds(any())).thenReturn(page);
+        Mockito.when(repository.searchProductsWithCategories(any())).thenReturn(List.of(product));
 
         //Testing findById
         Mockito.when(repository.findById(existingId)).thenReturn(Optional.of(product));
@@ -74,13 +86,14 @@ public class ProductServiceTests {
         Mockito.when(repository.getReferenceById(existingId)).thenReturn(product);
         Mockito.when(repository.getReferenceById(nonExistingId)).thenThrow(ResourceNotFoundException.class);
 
-        Mockito.when(categoryRepository.getReferenceById(existingId)).thenReturn(category);
-        Mockito.when(categoryRepository.getReferenceById(nonExistingId)).thenThrow(ResourceNotFoundException.class);
+        category = product.getCategories().iterator().next();
+        Mockito.when(categoryRepository.findAllById(any())).thenReturn(List.of(category));
 
         // Testing Delete
-        Mockito.doNothing().when(repository).deleteById(existingId);
-        Mockito.doThrow(EmptyResultDataAccessException.class).when(repository).deleteById(nonExistingId);
-        Mockito.doThrow(DataIntegrityViolationException.class).when(repository).deleteById(dependentId);
+        Mockito.when(repository.deleteProducts(List.of(existingId))).thenReturn(1);
+        Mockito.when(repository.deleteProducts(List.of(nonExistingId))).thenReturn(0);
+        Mockito.when(repository.deleteCategoryLinks(List.of(dependentId)))
+                .thenThrow(DataIntegrityViolationException.class);
     }
 
     @Test
@@ -90,7 +103,8 @@ public class ProductServiceTests {
         Page<ProductDto> result = service.findAllPaged(pageable);
 
         Assertions.assertNotNull(result);
-        Mockito.verify(repository, Mockito.times(1)).findAll(pageable);
+        Mockito.verify(repository, Mockito.times(1)).findProductIds(pageable);
+        Mockito.verify(repository, Mockito.times(1)).searchProductsWithCategories(page.getContent());
     }
 
     @Test
@@ -132,35 +146,29 @@ public class ProductServiceTests {
 
     @Test
     public void deleteShouldThrowDatabaseExceptionWhenIdIsDependent() {
-        Mockito.when(repository.existsById(dependentId)).thenReturn(true);
-        Mockito.doThrow(DataIntegrityViolationException.class).when(repository).deleteById(dependentId);
-
         Assertions.assertThrows(DatabaseException.class, () -> {
             service.delete(dependentId);
         });
-        Mockito.verify(repository, times(1)).existsById(dependentId);
-        Mockito.verify(repository, times(1)).deleteById(dependentId);
+        Mockito.verify(repository, times(1)).deleteCategoryLinks(List.of(dependentId));
+        Mockito.verify(repository, never()).deleteProducts(List.of(dependentId));
     }
 
     @Test
     public void deleteShouldThrowResourceNotFoundExceptionWhenIdDoesNotExist() {
-        Mockito.when(repository.existsById(nonExistingId)).thenReturn(false);
-
         Assertions.assertThrows(ResourceNotFoundException.class, () -> {
             service.delete(nonExistingId);
         });
-        Mockito.verify(repository).existsById(nonExistingId);
-        Mockito.verify(repository, never()).deleteById(nonExistingId);
+        Mockito.verify(repository).deleteProducts(List.of(nonExistingId));
+        Mockito.verify(repository, never()).existsById(nonExistingId);
     }
 
     @Test
     public void deleteShouldDoNothingWhenIdExists() {
-        Mockito.when(repository.existsById(existingId)).thenReturn(true);
-
         Assertions.assertDoesNotThrow(() -> {
             service.delete(existingId);
         });
 
-        Mockito.verify(repository).deleteById(existingId);
+        Mockito.verify(repository).deleteCategoryLinks(List.of(existingId));
+        Mockito.verify(repository).deleteProducts(List.of(existingId));
     }
 }
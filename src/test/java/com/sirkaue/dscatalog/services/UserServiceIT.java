@@ -0,0 +1,157 @@
+package com.sirkaue.dscatalog.services;
+
+import com.sirkaue.dscatalog.dto.RoleDto;
+import com.sirkaue.dscatalog.dto.UserDto;
+import com.sirkaue.dscatalog.dto.UserInsertDto;
+import com.sirkaue.dscatalog.dto.UserUpdateDto;
+import com.sirkaue.dscatalog.services.cache.KnownEmails;
+import com.sirkaue.dscatalog.services.exceptions.ValidationException;
+import com.sirkaue.dscatalog.utils.SqlStatements;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.core.CredentialsContainer;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@SpringBootTest
+public class UserServiceIT {
+
+    @Autowired
+    private UserService service;
+
+    @Autowired
+    private UserDetailsPasswordService passwordService;
+
+    @Autowired
+    private KnownEmails knownEmails;
+
+    @Test
+    public void loadUserByUsernameShouldNotQueryDatabaseWhenUserIsCached() {
+        service.loadUserByUsername("alex@gmail.com");
+
+        UserDetails result = SqlStatements.assertAtMost(0, () -> service.loadUserByUsername("alex@gmail.com"));
+
+        Assertions.assertEquals("alex@gmail.com", result.getUsername());
+        Assertions.assertEquals(Set.of("ROLE_OPERATOR"), authorities(result));
+    }
+
+    @Test
+    public void loadUserByUsernameShouldReturnPasswordWhenPreviousResultHadCredentialsErased() {
+        UserDetails first = service.loadUserByUsername("alex@gmail.com");
+        ((CredentialsContainer) first).eraseCredentials();
+
+        UserDetails result = service.loadUserByUsername("alex@gmail.com");
+
+        Assertions.assertNotNull(result.getPassword());
+    }
+
+    @Test
+    public void loadUserByUsernameShouldThrowUsernameNotFoundExceptionWhenEmailDoesNotExist() {
+        Assertions.assertThrows(UsernameNotFoundException.class, () -> {
+            service.loadUserByUsername("nobody@gmail.com");
+        });
+    }
+
+    @Test
+    public void loadUserByUsernameShouldThrowUsernameNotFoundExceptionWhenDatabaseDoesNotMatchEmailCase() {
+        service.loadUserByUsername("alex@gmail.com");
+
+        Assertions.assertThrows(UsernameNotFoundException.class, () -> {
+            service.loadUserByUsername("ALEX@gmail.com");
+        });
+    }
+
+    @Test
+    public void loadUserByUsernameShouldReturnNewRolesWhenUserIsUpdated() {
+        UserDto original = service.findById(2L);
+        Assertions.assertEquals(Set.of("ROLE_OPERATOR", "ROLE_ADMIN"),
+                authorities(service.loadUserByUsername("maria@gmail.com")));
+
+        try {
+            service.update(2L, updateDto(original, 1L));
+
+            Assertions.assertEquals(Set.of("ROLE_OPERATOR"),
+                    authorities(service.loadUserByUsername("maria@gmail.com")));
+        } finally {
+            service.update(2L, updateDto(original, 1L, 2L));
+        }
+    }
+
+    @Test
+    public void loadUserByUsernameShouldReturnNewPasswordWhenPasswordIsUpgraded() {
+        UserDetails original = service.loadUserByUsername("maria@gmail.com");
+
+        try {
+            passwordService.updatePassword(original, "$2a$12$upgraded");
+
+            Assertions.assertEquals("$2a$12$upgraded", service.loadUserByUsername("maria@gmail.com").getPassword());
+        } finally {
+            passwordService.updatePassword(original, original.getPassword());
+        }
+    }
+
+    @Test
+    public void mightExistShouldReturnFalseWhenEmailWasNeverRegistered() {
+        Assertions.assertTrue(knownEmails.mightExist("Alex@gmail.com"));
+        Assertions.assertFalse(knownEmails.mightExist("never.registered@gmail.com"));
+    }
+
+    @Test
+    public void insertShouldThrowValidationExceptionWhenEmailAlreadyExists() {
+        UserInsertDto dto = new UserInsertDto();
+        dto.setFirstName("Alex");
+        dto.setEmail("alex@gmail.com");
+        dto.setPassword("123456");
+
+        Assertions.assertThrows(ValidationException.class, () -> {
+            service.insert(dto);
+        });
+    }
+
+    @Test
+    public void insertShouldThrowDataIntegrityViolationExceptionWhenOtherConstraintIsViolated() {
+        UserInsertDto dto = new UserInsertDto();
+        dto.setFirstName("A".repeat(300));
+        dto.setEmail("ana@gmail.com");
+        dto.setPassword("123456");
+
+        Assertions.assertThrows(DataIntegrityViolationException.class, () -> {
+            service.insert(dto);
+        });
+    }
+
+    @Test
+    public void updateShouldThrowValidationExceptionWhenEmailBelongsToAnotherUser() {
+        UserDto original = service.findById(2L);
+        UserUpdateDto dto = updateDto(original, 1L, 2L);
+        dto.setEmail("alex@gmail.com");
+
+        Assertions.assertThrows(ValidationException.class, () -> {
+            service.update(2L, dto);
+        });
+        Assertions.assertEquals("maria@gmail.com", service.findById(2L).getEmail());
+    }
+
+    private static UserUpdateDto updateDto(UserDto user, Long... roleIds) {
+        UserUpdateDto dto = new UserUpdateDto();
+        dto.setFirstName(user.getFirstName());
+        dto.setLastName(user.getLastName());
+        dto.setEmail(user.getEmail());
+        for (Long roleId : roleIds) {
+            dto.getRoles().add(new RoleDto(roleId, null));
+        }
+        return dto;
+    }
+
+    private static Set<String> authorities(UserDetails user) {
+        return user.getAuthorities().stream().map(GrantedAuthority::getAuthority).collect(Collectors.toSet());
+    }
+}
@@ -0,0 +1,144 @@
+package com.sirkaue.dscatalog.services.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+public class CountCacheTests {
+
+    private MeterRegistry meterRegistry;
+    private CountDownLatch release;
+    private AtomicInteger counts;
+    private CountCache countCache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        release = new CountDownLatch(1);
+        counts = new AtomicInteger();
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        countCache.shutdown();
+    }
+
+    @Test
+    public void prefetchShouldRunSingleCountWhenManyRequestsArriveWhileCountIsRunning() {
+        countCache = countCache(1, 100, Duration.ofSeconds(5));
+
+        List<LongSupplier> totals = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            totals.add(countCache.prefetch(CountCache.PRODUCTS, blocking(25L)));
+        }
+        release.countDown();
+
+        for (LongSupplier total : totals) {
+            Assertions.assertEquals(25L, total.getAsLong());
+        }
+        Assertions.assertEquals(1, counts.get());
+    }
+
+    @Test
+    public void prefetchShouldReturnPreviousTotalWhenCountTimesOut() {
+        countCache = countCache(1, 100, Duration.ofMillis(50));
+        countCache.get(CountCache.PRODUCTS, () -> 25L);
+
+        LongSupplier total = countCache.prefetch(CountCache.PRODUCTS, blocking(30L));
+
+        Assertions.assertEquals(25L, total.getAsLong());
+        Assertions.assertEquals(1.0, fallbacks("timeout"));
+    }
+
+    @Test
+    public void prefetchShouldCountInlineWhenExecutorRejectsAndThereIsNoPreviousTotal() throws InterruptedException {
+        countCache = countCache(1, 1, Duration.ofSeconds(5));
+        countCache.prefetch(CountCache.CATEGORIES, blocking(1L));
+        countCache.prefetch(CountCache.USERS, blocking(1L));
+        awaitQueued();
+
+        LongSupplier total = countCache.prefetch(CountCache.PRODUCTS, () -> 25L);
+
+        Assertions.assertEquals(25L, total.getAsLong());
+        Assertions.assertEquals(1.0, fallbacks("rejected"));
+    }
+
+    @Test
+    public void prefetchShouldCountInlineWhenConcurrentCountFails() {
+        countCache = countCache(1, 100, Duration.ofSeconds(5));
+
+        LongSupplier total = countCache.prefetch(CountCache.PRODUCTS, () -> {
+            if (counts.incrementAndGet() == 1) {
+                throw new IllegalStateException("Connection lost");
+            }
+            return 25L;
+        });
+
+        Assertions.assertEquals(25L, total.getAsLong());
+        Assertions.assertEquals(1.0, fallbacks("error"));
+    }
+
+    private CountCache countCache(int poolSize, int queueCapacity, Duration timeout) {
+        return new CountCache(Duration.ZERO, true, poolSize, queueCapacity, timeout, transactionManager(),
+                meterRegistry);
+    }
+
+    private LongSupplier blocking(long value) {
+        return () -> {
+            counts.incrementAndGet();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return value;
+        };
+    }
+
+    private double fallbacks(String reason) {
+        return meterRegistry.get("dscatalog.count.fallback").tag("reason", reason).counter().count();
+    }
+
+    private void awaitQueued() throws InterruptedException {
+        for (int i = 0; i < 500; i++) {
+            if (meterRegistry.get("executor.queued").tag("name", "dscatalog.count").gauge().value() >= 1) {
+                return;
+            }
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+        Assertions.fail("Count was not queued");
+    }
+
+    private static PlatformTransactionManager transactionManager() {
+        return new PlatformTransactionManager() {
+            @Override
+            public TransactionStatus getTransaction(TransactionDefinition definition) {
+                return new SimpleTransactionStatus();
+            }
+
+            @Override
+            public void commit(TransactionStatus status) {
+            }
+
+            @Override
+            public void rollback(TransactionStatus status) {
+            }
+        };
+    }
+}
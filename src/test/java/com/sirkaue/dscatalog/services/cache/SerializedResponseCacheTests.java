@@ -0,0 +1,98 @@
+package com.sirkaue.dscatalog.services.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sirkaue.dscatalog.dto.ResourceVersionDto;
+import com.sirkaue.dscatalog.dto.VersionedDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+public class SerializedResponseCacheTests {
+
+    private ExecutorService executor;
+    private CountDownLatch release;
+    private AtomicInteger loads;
+    private SerializedResponseCache responseCache;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newFixedThreadPool(8);
+        release = new CountDownLatch(1);
+        loads = new AtomicInteger();
+        responseCache = new SerializedResponseCache(new ObjectMapper(), DataSize.ofMegabytes(1),
+                Duration.ofMinutes(1), new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void getShouldRunSingleLoadWhenManyRequestsMissSameKey() throws Exception {
+        List<Future<SerializedResponse>> responses = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            responses.add(executor.submit(() -> responseCache.get(SerializedResponseCache.PRODUCTS, 1L, "v1",
+                    blocking("v1"))));
+        }
+        Thread.sleep(100);
+        release.countDown();
+
+        for (Future<SerializedResponse> response : responses) {
+            Assertions.assertEquals("v1", response.get(5, TimeUnit.SECONDS).getEtag());
+        }
+        Assertions.assertEquals(1, loads.get());
+    }
+
+    @Test
+    public void getShouldLoadAgainWhenCachedEtagIsOutdated() {
+        release.countDown();
+        responseCache.get(SerializedResponseCache.PRODUCTS, 1L, "v1", blocking("v1"));
+
+        SerializedResponse result = responseCache.get(SerializedResponseCache.PRODUCTS, 1L, "v2", blocking("v2"));
+
+        Assertions.assertEquals("v2", result.getEtag());
+        Assertions.assertEquals(2, loads.get());
+    }
+
+    @Test
+    public void getShouldRethrowLoaderExceptionAndAllowNextLoad() {
+        release.countDown();
+
+        Assertions.assertThrows(IllegalStateException.class, () ->
+                responseCache.get(SerializedResponseCache.PRODUCTS, 1L, "v1", () -> {
+                    throw new IllegalStateException("Unavailable");
+                }));
+        SerializedResponse result = responseCache.get(SerializedResponseCache.PRODUCTS, 1L, "v1", blocking("v1"));
+
+        Assertions.assertEquals("v1", result.getEtag());
+    }
+
+    private Supplier<VersionedDto<String>> blocking(String etag) {
+        return () -> {
+            loads.incrementAndGet();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return new VersionedDto<>("body", new ResourceVersionDto(etag, Instant.EPOCH));
+        };
+    }
+}
@@ -0,0 +1,57 @@
+package com.sirkaue.dscatalog.services.search;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+public class ProductSearchIndexTests {
+
+    private ProductSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ProductSearchIndex(null);
+        index.index(1L, "Smart TV", "Televisão com resolução 4K e som estéreo");
+        index.index(2L, "Notebook Gamer", "Notebook com placa de vídeo dedicada");
+        index.index(3L, "Mouse", "Mouse sem fio para notebook");
+    }
+
+    @Test
+    public void searchShouldIgnoreAccentsAndCaseWhenQueryIsGiven() {
+        List<Long> result = index.search("TELEVISAO resolucao");
+
+        Assertions.assertEquals(List.of(1L), result);
+    }
+
+    @Test
+    public void searchShouldRankNameMatchesFirstWhenTermAppearsInSeveralProducts() {
+        List<Long> result = index.search("notebook");
+
+        Assertions.assertEquals(List.of(2L, 3L), result);
+    }
+
+    @Test
+    public void searchShouldReturnEmptyListWhenQueryHasOnlyStopWords() {
+        List<Long> result = index.search("de para com");
+
+        Assertions.assertTrue(result.isEmpty());
+    }
+
+    @Test
+    public void indexShouldReplaceOldTermsWhenProductIsUpdated() {
+        index.index(3L, "Teclado", "Teclado mecânico");
+
+        Assertions.assertEquals(List.of(2L), index.search("notebook"));
+        Assertions.assertEquals(List.of(3L), index.search("teclado"));
+    }
+
+    @Test
+    public void removeShouldDropProductFromResultsWhenProductIsDeleted() {
+        index.remove(2L);
+
+        Assertions.assertEquals(List.of(3L), index.search("notebook"));
+        Assertions.assertEquals(2, index.size());
+    }
+}
@@ -0,0 +1,39 @@
+package com.sirkaue.dscatalog.util;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class BloomFilterTests {
+
+    private static final int INSERTIONS = 10000;
+
+    private BloomFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        filter = new BloomFilter(INSERTIONS, 0.01);
+        for (int i = 0; i < INSERTIONS; i++) {
+            filter.add("user" + i + "@gmail.com");
+        }
+    }
+
+    @Test
+    public void mightContainShouldReturnTrueWhenValueWasAdded() {
+        for (int i = 0; i < INSERTIONS; i++) {
+            Assertions.assertTrue(filter.mightContain("user" + i + "@gmail.com"));
+        }
+    }
+
+    @Test
+    public void mightContainShouldRarelyReturnTrueWhenValueWasNotAdded() {
+        int falsePositives = 0;
+        for (int i = 0; i < INSERTIONS; i++) {
+            if (filter.mightContain("other" + i + "@gmail.com")) {
+                falsePositives++;
+            }
+        }
+
+        Assertions.assertTrue(falsePositives < INSERTIONS * 0.02, "False positives: " + falsePositives);
+    }
+}
@@ -0,0 +1,29 @@
+package com.sirkaue.dscatalog.utils;
+
+import com.sirkaue.dscatalog.util.SqlStatementCounter;
+import org.junit.jupiter.api.Assertions;
+
+import java.util.function.Supplier;
+
+public class SqlStatements {
+
+    /*
+    Executa a chamada e falha se ela executar mais comandos SQL do que o orcamento, mostrando o SELECT mais repetido
+    (normalmente o culpado de um N+1). Os comandos de outras threads nao entram na contagem.
+    */
+    public static <T> T assertAtMost(int budget, Supplier<T> call) {
+        try (SqlStatementCounter.Scope scope = SqlStatementCounter.open()) {
+            T result = call.get();
+            Assertions.assertTrue(scope.getCount() <= budget,
+                    () -> String.format("Expected at most %d SQL statements but got %s", budget, scope.describe()));
+            return result;
+        }
+    }
+
+    public static void assertAtMost(int budget, Runnable call) {
+        assertAtMost(budget, () -> {
+            call.run();
+            return null;
+        });
+    }
+}